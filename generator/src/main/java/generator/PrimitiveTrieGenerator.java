@@ -0,0 +1,96 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package generator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the primitive keyed hash tries and the sets and maps on top of them (IntHashTrie, IntSetImpl,
+ * IntObjectMapImpl, LongHashTrie, ...) from one template per class, so all primitive variants share one source.
+ */
+public abstract class PrimitiveTrieGenerator {
+    protected static final String[] TEMPLATES = {"HashTrie", "SetImpl", "ObjectMapImpl"};
+
+    protected final String[] primitives;
+    protected final String   javaPackage;
+
+    public PrimitiveTrieGenerator(String[] primitives, String javaPackage) {
+        this.primitives = primitives;
+        this.javaPackage = javaPackage;
+    }
+
+    public abstract Writer getWriter(String className) throws IOException;
+
+    protected void generateAll() throws IOException {
+        for (String template : TEMPLATES) {
+            List<String> lines = readTemplate(template);
+            for (String primitive : primitives) {
+                String className = className(primitive, template);
+                write(javaPackage + "." + className, lines.stream().map(l -> substitute(l, primitive, className)).collect(Collectors.toList()));
+            }
+        }
+    }
+
+    protected void write(String className, List<String> lines) throws IOException {
+        try (PrintWriter printWriter = new PrintWriter(getWriter(className))) {
+            lines.forEach(printWriter::println);
+        }
+    }
+
+    protected static List<String> readTemplate(String template) throws IOException {
+        try (InputStream in = PrimitiveTrieGenerator.class.getResourceAsStream(template + ".java.template")) {
+            if (in == null) {
+                throw new IOException("template not found: " + template);
+            }
+            return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).lines().collect(Collectors.toList());
+        }
+    }
+
+    protected static String className(String primitive, String template) {
+        return capitalized(primitive) + template;
+    }
+
+    private String substitute(String line, String primitive, String className) {
+        return line.replace("$package$", javaPackage)//
+                .replace("$serialVersionUID$", String.format("0x%08X_%08XL", primitive.hashCode(), className.hashCode()))//
+                .replace("$Boxed$", boxed(primitive))//
+                .replace("$Prim$", capitalized(primitive))//
+                .replace("$prim$", primitive);
+    }
+
+    private static String capitalized(String primitive) {
+        return Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1);
+    }
+
+    private static String boxed(String primitive) {
+        switch (primitive) {
+        case "int":
+            return "Integer";
+        case "char":
+            return "Character";
+        default:
+            return capitalized(primitive);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrimitiveTrieGeneratorTests {
+    @Test
+    public void testGenerator() throws IOException {
+        TestPrimitiveTrieGenerator generator = new TestPrimitiveTrieGenerator(new String[]{"int", "long"}, "only.testing");
+        generator.generateAll();
+
+        assertEquals(6, generator.generated.size());
+        assertTrue(generator.generated.keySet().stream().allMatch(c -> c.matches("only[.]testing[.](Int|Long)(HashTrie|SetImpl|ObjectMapImpl)")));
+        generator.generated.values().forEach(source -> {
+            assertTrue(source.toString().contains("package only.testing;"));
+            assertFalse(source.toString().contains("$"));
+        });
+        String longTrie = generator.generated.get("only.testing.LongHashTrie").toString();
+        assertTrue(longTrie.contains("final class LongHashTrie"));
+        assertTrue(longTrie.contains("static Object get(Node n, long k)"));
+        assertTrue(longTrie.contains("Long.hashCode(k)"));
+        String intTrie = generator.generated.get("only.testing.IntHashTrie").toString();
+        assertTrue(intTrie.contains("static Object get(Node n, int k)"));
+        assertTrue(intTrie.contains("Integer.hashCode(k)"));
+    }
+
+    public static class TestPrimitiveTrieGenerator extends PrimitiveTrieGenerator {
+        private final Map<String, StringWriter> generated = new TreeMap<>();
+
+        public TestPrimitiveTrieGenerator(String[] primitives, String pack) {
+            super(primitives, pack);
+        }
+
+        @Override
+        public Writer getWriter(String className) {
+            return generated.computeIfAbsent(className, c -> new StringWriter());
+        }
+    }
+}
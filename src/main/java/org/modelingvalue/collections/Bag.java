@@ -0,0 +1,75 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+import java.util.function.ObjIntConsumer;
+
+import org.modelingvalue.collections.impl.BagImpl;
+import org.modelingvalue.collections.util.Mergeable;
+
+/**
+ * A persistent multiset. Every element has a positive count; {@link #size()} is the sum of all counts and
+ * {@link #distinctSize()} the number of different elements.
+ */
+public interface Bag<T> extends Mergeable<Bag<T>>, Serializable {
+
+    @SuppressWarnings("unchecked")
+    static <T> Bag<T> of() {
+        return BagImpl.EMPTY;
+    }
+
+    @SafeVarargs
+    static <T> Bag<T> of(T... elements) {
+        return BagImpl.of(elements);
+    }
+
+    int size();
+
+    int distinctSize();
+
+    boolean isEmpty();
+
+    boolean contains(T e);
+
+    int count(T e);
+
+    Bag<T> add(T e);
+
+    /**
+     * Adds {@code n} to the count of the element, a negative {@code n} removes occurrences. The count never drops
+     * below zero.
+     */
+    Bag<T> add(T e, int n);
+
+    Bag<T> remove(T e);
+
+    Bag<T> remove(T e, int n);
+
+    Bag<T> setCount(T e, int n);
+
+    Bag<T> addAll(Bag<? extends T> other);
+
+    Bag<T> addAll(Iterable<? extends T> elements);
+
+    Bag<T> clear();
+
+    Set<T> toSet();
+
+    void forEach(ObjIntConsumer<? super T> action);
+
+}
@@ -0,0 +1,85 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+import java.util.function.BiConsumer;
+
+import org.modelingvalue.collections.impl.BiMapImpl;
+import org.modelingvalue.collections.util.Mergeable;
+
+/**
+ * A persistent map in which every value is bound to exactly one key. The forward and inverse maps are kept in one
+ * structure, {@link #inverse()} is a view that shares both.
+ */
+public interface BiMap<K, V> extends Mergeable<BiMap<K, V>>, Serializable {
+
+    @SuppressWarnings("unchecked")
+    static <K, V> BiMap<K, V> of() {
+        return BiMapImpl.EMPTY;
+    }
+
+    @SafeVarargs
+    static <K, V> BiMap<K, V> of(Entry<K, V>... entries) {
+        BiMap<K, V> map = of();
+        for (Entry<K, V> e : entries) {
+            map = map.put(e.getKey(), e.getValue());
+        }
+        return map;
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    V get(K key);
+
+    K getKey(V value);
+
+    boolean containsKey(K key);
+
+    boolean containsValue(V value);
+
+    /**
+     * Binds the key to the value.
+     *
+     * @throws IllegalArgumentException if the value is already bound to another key
+     */
+    BiMap<K, V> put(K key, V value);
+
+    /**
+     * Binds the key to the value, removing the entry that had the value before.
+     */
+    BiMap<K, V> forcePut(K key, V value);
+
+    BiMap<K, V> removeKey(K key);
+
+    BiMap<K, V> removeValue(V value);
+
+    BiMap<K, V> clear();
+
+    Collection<K> toKeys();
+
+    Collection<V> toValues();
+
+    Map<K, V> asMap();
+
+    BiMap<V, K> inverse();
+
+    void forEach(BiConsumer<K, V> action);
+
+}
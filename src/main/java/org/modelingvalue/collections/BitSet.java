@@ -0,0 +1,93 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import org.modelingvalue.collections.impl.BitSetImpl;
+import org.modelingvalue.collections.util.Mergeable;
+
+/**
+ * A persistent set of small non-negative ints, stored as a trie of {@code long} words. Bulk operations work a word
+ * at a time and skip the sub tries the operands share.
+ */
+public interface BitSet extends Mergeable<BitSet>, Serializable {
+
+    static BitSet of() {
+        return BitSetImpl.EMPTY;
+    }
+
+    static BitSet of(int... elements) {
+        return BitSetImpl.of(elements);
+    }
+
+    static BitSet of(Iterable<Integer> elements) {
+        return BitSetImpl.of(elements);
+    }
+
+    static BitSet range(int from, int to) {
+        return BitSetImpl.range(from, to);
+    }
+
+    int cardinality();
+
+    boolean isEmpty();
+
+    boolean contains(int e);
+
+    BitSet add(int e);
+
+    BitSet remove(int e);
+
+    BitSet addAll(BitSet other);
+
+    BitSet retainAll(BitSet other);
+
+    BitSet removeAll(BitSet other);
+
+    BitSet exclusiveAll(BitSet other);
+
+    BitSet clear();
+
+    /**
+     * @return the smallest element that is not smaller than {@code from}, or {@code -1}
+     */
+    int nextSetBit(int from);
+
+    void forEach(IntConsumer action);
+
+    PrimitiveIterator.OfInt iterator();
+
+    IntStream stream();
+
+    int[] toArray();
+
+    /**
+     * @return a copy of the elements as a hash {@link Set}, boxing every element
+     */
+    Set<Integer> toSet();
+
+    /**
+     * @return a read-only {@link java.util.Set} view whose {@code contains}, {@code size} and iterator delegate to
+     *         the trie, nothing is copied or boxed up front
+     */
+    java.util.Set<Integer> asJavaSet();
+
+}
@@ -29,6 +29,10 @@ import java.util.stream.BaseStream;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.modelingvalue.collections.impl.ListImpl;
+import org.modelingvalue.collections.impl.MapImpl;
+import org.modelingvalue.collections.impl.QualifiedSetImpl;
+import org.modelingvalue.collections.impl.SetImpl;
 import org.modelingvalue.collections.impl.StreamCollectionImpl;
 import org.modelingvalue.collections.mutable.Mutable;
 import org.modelingvalue.collections.util.Mergeable;
@@ -140,24 +144,23 @@ public interface Collection<T> extends Stream<T>, Iterable<T>, Serializable {
     void forEach(Consumer<? super T> action);
 
     default Set<T> asSet() {
-        return reduce(Set.of(), Set::add, Set::addAll);
+        return collect(SetImpl.collector());
     }
 
     default List<T> asList() {
-        return reduce(List.of(), List::append, List::appendList);
+        return collect(ListImpl.collector());
     }
 
     default <K, V> Map<K, V> asMap(Function<T, Entry<K, V>> entry) {
-        return reduce(Map.of(), (s, a) -> s.put(entry.apply(a)), Map::putAll);
+        return collect(MapImpl.collector(entry));
     }
 
     default <K, V> DefaultMap<K, V> asDefaultMap(SerializableFunction<K, V> defaultFunction, Function<T, Entry<K, V>> entry) {
         return reduce(DefaultMap.of(defaultFunction), (s, a) -> s.put(entry.apply(a)), DefaultMap::putAll);
     }
 
-    @SuppressWarnings("unchecked")
     default <K, V> QualifiedSet<K, V> asQualifiedSet(SerializableFunction<V, K> qualifier) {
-        return reduce(QualifiedSet.of(qualifier), (s, a) -> s.add((V) a), QualifiedSet::addAll);
+        return collect(QualifiedSetImpl.collector(qualifier));
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,44 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+
+import org.modelingvalue.collections.impl.EquivalenceImpl;
+import org.modelingvalue.collections.util.SerializableBiPredicate;
+import org.modelingvalue.collections.util.SerializableToIntFunction;
+
+/**
+ * The hash and equality a {@link Set} or {@link Map} uses for its elements or keys instead of their own
+ * {@link Object#hashCode()} and {@link Object#equals(Object)}.
+ */
+public interface Equivalence<T> extends Serializable {
+
+    @SuppressWarnings("unchecked")
+    static <T> Equivalence<T> identity() {
+        return EquivalenceImpl.IDENTITY;
+    }
+
+    static <T> Equivalence<T> of(SerializableToIntFunction<T> hash, SerializableBiPredicate<T, T> equivalent) {
+        return new EquivalenceImpl<>(hash, equivalent);
+    }
+
+    int hash(T t);
+
+    boolean equivalent(T a, T b);
+
+}
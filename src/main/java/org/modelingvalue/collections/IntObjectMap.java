@@ -0,0 +1,58 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+import java.util.function.ObjIntConsumer;
+
+import org.modelingvalue.collections.impl.IntObjectMapImpl;
+import org.modelingvalue.collections.util.Mergeable;
+import org.modelingvalue.collections.util.Pair;
+
+public interface IntObjectMap<V> extends Mergeable<IntObjectMap<V>>, Serializable {
+
+    @SuppressWarnings("unchecked")
+    static <V> IntObjectMap<V> of() {
+        return IntObjectMapImpl.EMPTY;
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean containsKey(int key);
+
+    V get(int key);
+
+    V getOrDefault(int key, V defaultValue);
+
+    IntObjectMap<V> put(int key, V value);
+
+    IntObjectMap<V> removeKey(int key);
+
+    IntObjectMap<V> putAll(IntObjectMap<? extends V> other);
+
+    IntObjectMap<V> removeAllKey(IntSet keys);
+
+    IntObjectMap<Pair<V, V>> diff(IntObjectMap<V> other);
+
+    IntSet toKeys();
+
+    IntObjectMap<V> clear();
+
+    void forEach(ObjIntConsumer<? super V> action);
+
+}
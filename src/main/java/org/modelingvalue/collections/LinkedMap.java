@@ -0,0 +1,74 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections;
+
+import java.util.Spliterator;
+
+import org.modelingvalue.collections.impl.LinkedMapImpl;
+import org.modelingvalue.collections.util.Mergeable;
+
+/**
+ * A persistent map that iterates in insertion order of its keys. Putting a key that is already contained keeps its
+ * position.
+ */
+public interface LinkedMap<K, V> extends Collection<Entry<K, V>>, Mergeable<LinkedMap<K, V>> {
+    @SuppressWarnings("unchecked")
+    static <K, V> LinkedMap<K, V> of() {
+        return LinkedMapImpl.EMPTY;
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    static <K, V> LinkedMap<K, V> of(Entry<K, V>... entries) {
+        return entries.length == 0 ? LinkedMapImpl.EMPTY : LinkedMapImpl.of(entries);
+    }
+
+    V get(K key);
+
+    V getOrDefault(K key, V defaultValue);
+
+    boolean containsKey(K key);
+
+    Entry<K, V> getEntry(K key);
+
+    Entry<K, V> first();
+
+    Entry<K, V> last();
+
+    LinkedMap<K, V> put(K key, V value);
+
+    LinkedMap<K, V> put(Entry<K, V> entry);
+
+    LinkedMap<K, V> putAll(Collection<? extends Entry<K, V>> entries);
+
+    LinkedMap<K, V> removeKey(K key);
+
+    LinkedMap<K, V> removeAllKey(Collection<?> keys);
+
+    LinkedMap<K, V> clear();
+
+    Collection<K> toKeys();
+
+    Collection<V> toValues();
+
+    Map<K, V> toMap();
+
+    Collection<Entry<K, V>> reverse();
+
+    Spliterator<Entry<K, V>> reverseSpliterator();
+
+}
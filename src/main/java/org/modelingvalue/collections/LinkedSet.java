@@ -0,0 +1,63 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections;
+
+import java.util.Spliterator;
+
+import org.modelingvalue.collections.impl.LinkedSetImpl;
+import org.modelingvalue.collections.util.Mergeable;
+
+/**
+ * A persistent set that iterates in insertion order. Adding an element that is already contained keeps its position.
+ */
+public interface LinkedSet<T> extends Collection<T>, Mergeable<LinkedSet<T>> {
+    @SuppressWarnings("unchecked")
+    static <T> LinkedSet<T> of() {
+        return LinkedSetImpl.EMPTY;
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    static <T> LinkedSet<T> of(T... elements) {
+        return elements.length == 0 ? LinkedSetImpl.EMPTY : LinkedSetImpl.of(elements);
+    }
+
+    T first();
+
+    T last();
+
+    LinkedSet<T> add(T e);
+
+    LinkedSet<T> addAll(Collection<? extends T> c);
+
+    LinkedSet<T> remove(Object e);
+
+    LinkedSet<T> removeAll(Collection<?> c);
+
+    LinkedSet<T> retainAll(Collection<?> c);
+
+    boolean containsAll(Collection<?> c);
+
+    LinkedSet<T> clear();
+
+    Collection<T> reverse();
+
+    Spliterator<T> reverseSpliterator();
+
+    Set<T> toSet();
+
+}
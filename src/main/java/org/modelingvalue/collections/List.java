@@ -111,6 +111,8 @@ public interface List<T> extends ContainingCollection<T>, Mergeable<List<T>> {
 
     int lastIndexOfList(List<?> sublist);
 
+    StreamCollection<int[]> diff(List<? extends T> other);
+
     @SuppressWarnings("unchecked")
     <B extends List<T>> StreamCollection<Object[]> compareAll(B... branches);
 
@@ -0,0 +1,66 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+
+import org.modelingvalue.collections.impl.ListMultimapImpl;
+import org.modelingvalue.collections.util.Mergeable;
+
+/**
+ * A persistent map from keys to a List of values. A key is contained only while it has values, and the size is the
+ * number of key-value pairs.
+ */
+public interface ListMultimap<K, V> extends Mergeable<ListMultimap<K, V>>, Serializable {
+    @SuppressWarnings("unchecked")
+    static <K, V> ListMultimap<K, V> of() {
+        return ListMultimapImpl.EMPTY;
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    List<V> get(K key);
+
+    boolean containsKey(K key);
+
+    boolean contains(K key, V value);
+
+    ListMultimap<K, V> put(K key, V value);
+
+    ListMultimap<K, V> putAll(K key, Collection<? extends V> values);
+
+    ListMultimap<K, V> remove(K key, V value);
+
+    ListMultimap<K, V> removeAll(K key, Collection<?> values);
+
+    ListMultimap<K, V> removeKey(K key);
+
+    ListMultimap<K, V> clear();
+
+    Collection<K> toKeys();
+
+    Collection<Entry<K, V>> entries();
+
+    Map<K, List<V>> asMap();
+
+    ListMultimap<V, K> inverse();
+
+    TransientListMultimap<K, V> toTransient();
+
+}
@@ -0,0 +1,58 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+import java.util.function.ObjLongConsumer;
+
+import org.modelingvalue.collections.impl.LongObjectMapImpl;
+import org.modelingvalue.collections.util.Mergeable;
+import org.modelingvalue.collections.util.Pair;
+
+public interface LongObjectMap<V> extends Mergeable<LongObjectMap<V>>, Serializable {
+
+    @SuppressWarnings("unchecked")
+    static <V> LongObjectMap<V> of() {
+        return LongObjectMapImpl.EMPTY;
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean containsKey(long key);
+
+    V get(long key);
+
+    V getOrDefault(long key, V defaultValue);
+
+    LongObjectMap<V> put(long key, V value);
+
+    LongObjectMap<V> removeKey(long key);
+
+    LongObjectMap<V> putAll(LongObjectMap<? extends V> other);
+
+    LongObjectMap<V> removeAllKey(LongSet keys);
+
+    LongObjectMap<Pair<V, V>> diff(LongObjectMap<V> other);
+
+    LongSet toKeys();
+
+    LongObjectMap<V> clear();
+
+    void forEach(ObjLongConsumer<? super V> action);
+
+}
@@ -21,6 +21,7 @@ import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import org.modelingvalue.collections.impl.EquivalenceMapImpl;
 import org.modelingvalue.collections.impl.MapImpl;
 import org.modelingvalue.collections.mutable.MutableMap;
 import org.modelingvalue.collections.util.Mergeable;
@@ -40,6 +41,11 @@ public interface Map<K, V> extends ContainingCollection<Entry<K, V>>, Mergeable<
         }
     }
 
+    @SafeVarargs
+    static <K, V> Map<K, V> of(Equivalence<? super K> equivalence, Entry<K, V>... entries) {
+        return new EquivalenceMapImpl<>(equivalence, entries);
+    }
+
     V get(K key);
 
     V getOrDefault(K key, V defaultValue);
@@ -52,6 +58,21 @@ public interface Map<K, V> extends ContainingCollection<Entry<K, V>>, Mergeable<
 
     Collection<V> getAll(Set<K> keys);
 
+    /**
+     * Writes the value of every key, or null if the key is absent, into out at the same position and returns the
+     * number of keys found. All keys are looked up in one descent of the map. The keys are ordered by hash in a
+     * {@code long[]} allocated for every call, use {@link #getAll(Object[], Object[], long[])} to reuse it.
+     */
+    int getAll(K[] keys, V[] out);
+
+    /**
+     * Like {@link #getAll(Object[], Object[])}, but orders the keys in {@code scratch}, which must be at least as long
+     * as {@code keys}. Repeated batches with the same scratch array allocate nothing.
+     */
+    int getAll(K[] keys, V[] out, long[] scratch);
+
+    Collection<Entry<K, V>> getAllEntries(Iterable<K> keys);
+
     Map<K, V> put(Entry<K, V> entry);
 
     Map<K, V> put(K key, V value);
@@ -122,6 +143,8 @@ public interface Map<K, V> extends ContainingCollection<Entry<K, V>>, Mergeable<
 
     java.util.Map<K, V> toMutable();
 
+    TransientMap<K, V> toTransient();
+
     static <S, E> Map<S, E> fromMutable(java.util.Map<S, E> mutable) {
         return mutable instanceof MutableMap ? ((MutableMap<S, E>) mutable).toImmutable() : Collection.of(mutable.entrySet()).asMap(e -> Entry.of(e.getKey(), e.getValue()));
     }
@@ -91,4 +91,6 @@ public interface QualifiedSet<K, V> extends ContainingCollection<V>, Mergeable<Q
     @Override
     QualifiedSet<K, V> clear();
 
+    TransientQualifiedSet<K, V> toTransient();
+
 }
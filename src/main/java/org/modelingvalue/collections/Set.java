@@ -17,6 +17,7 @@ package org.modelingvalue.collections;
 
 import java.util.function.Function;
 
+import org.modelingvalue.collections.impl.EquivalenceSetImpl;
 import org.modelingvalue.collections.impl.SetImpl;
 import org.modelingvalue.collections.mutable.MutableSet;
 import org.modelingvalue.collections.util.Mergeable;
@@ -33,6 +34,11 @@ public interface Set<T> extends ContainingCollection<T>, Mergeable<Set<T>> {
         return elements.length == 0 ? SetImpl.EMPTY : new SetImpl<>(elements);
     }
 
+    @SafeVarargs
+    static <T> Set<T> of(Equivalence<? super T> equivalence, T... elements) {
+        return new EquivalenceSetImpl<>(equivalence, elements);
+    }
+
     @SafeVarargs
     static <T> Set<T> notNull(T... elements) {
         Set<T> result = Set.of();
@@ -91,6 +97,8 @@ public interface Set<T> extends ContainingCollection<T>, Mergeable<Set<T>> {
 
     java.util.Set<T> toMutable();
 
+    TransientSet<T> toTransient();
+
     static <E> Set<E> fromMutable(java.util.Collection<E> mutable) {
         return mutable instanceof MutableSet ? ((MutableSet<E>) mutable).toImmutable() : Collection.of(mutable).asSet();
     }
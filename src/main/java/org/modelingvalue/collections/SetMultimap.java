@@ -0,0 +1,66 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+
+import org.modelingvalue.collections.impl.SetMultimapImpl;
+import org.modelingvalue.collections.util.Mergeable;
+
+/**
+ * A persistent map from keys to a Set of values. A key is contained only while it has values, and the size is the
+ * number of key-value pairs.
+ */
+public interface SetMultimap<K, V> extends Mergeable<SetMultimap<K, V>>, Serializable {
+    @SuppressWarnings("unchecked")
+    static <K, V> SetMultimap<K, V> of() {
+        return SetMultimapImpl.EMPTY;
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    Set<V> get(K key);
+
+    boolean containsKey(K key);
+
+    boolean contains(K key, V value);
+
+    SetMultimap<K, V> put(K key, V value);
+
+    SetMultimap<K, V> putAll(K key, Collection<? extends V> values);
+
+    SetMultimap<K, V> remove(K key, V value);
+
+    SetMultimap<K, V> removeAll(K key, Collection<?> values);
+
+    SetMultimap<K, V> removeKey(K key);
+
+    SetMultimap<K, V> clear();
+
+    Collection<K> toKeys();
+
+    Collection<Entry<K, V>> entries();
+
+    Map<K, Set<V>> asMap();
+
+    SetMultimap<V, K> inverse();
+
+    TransientSetMultimap<K, V> toTransient();
+
+}
@@ -0,0 +1,121 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections;
+
+import java.util.Comparator;
+
+import org.modelingvalue.collections.impl.SortedMapImpl;
+import org.modelingvalue.collections.util.Mergeable;
+
+/**
+ * A persistent map that keeps its entries ordered by a {@link Comparator} on the keys.
+ */
+public interface SortedMap<K, V> extends ContainingCollection<Entry<K, V>>, Mergeable<SortedMap<K, V>> {
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable<? super K>, V> SortedMap<K, V> of() {
+        return SortedMapImpl.EMPTY;
+    }
+
+    @SafeVarargs
+    static <K extends Comparable<? super K>, V> SortedMap<K, V> of(Entry<K, V>... entries) {
+        return of(Comparator.naturalOrder(), entries);
+    }
+
+    @SafeVarargs
+    static <K, V> SortedMap<K, V> of(Comparator<? super K> comparator, Entry<K, V>... entries) {
+        return SortedMapImpl.of(comparator, entries);
+    }
+
+    Comparator<? super K> comparator();
+
+    V get(K key);
+
+    V getOrDefault(K key, V defaultValue);
+
+    boolean containsKey(K key);
+
+    Entry<K, V> getEntry(K key);
+
+    Entry<K, V> firstEntry();
+
+    Entry<K, V> lastEntry();
+
+    Entry<K, V> floorEntry(K key);
+
+    Entry<K, V> ceilingEntry(K key);
+
+    Entry<K, V> lowerEntry(K key);
+
+    Entry<K, V> higherEntry(K key);
+
+    /**
+     * Returns the number of keys less than key.
+     */
+    int rank(K key);
+
+    /**
+     * Returns the entry at the given rank.
+     */
+    Entry<K, V> select(int rank);
+
+    /**
+     * Returns the number of keys from (inclusive) to (exclusive).
+     */
+    int countBetween(K from, K to);
+
+    /**
+     * Returns the entries with keys from (inclusive) to (exclusive) without visiting the entries outside that range.
+     */
+    Collection<Entry<K, V>> range(K from, K to);
+
+    SortedMap<K, V> headMap(K to);
+
+    SortedMap<K, V> tailMap(K from);
+
+    SortedMap<K, V> subMap(K from, K to);
+
+    SortedMap<K, V> put(K key, V value);
+
+    SortedMap<K, V> put(Entry<K, V> entry);
+
+    SortedMap<K, V> removeKey(K key);
+
+    SortedMap<K, V> removeAllKey(Collection<?> keys);
+
+    Collection<K> toKeys();
+
+    Collection<V> toValues();
+
+    @Override
+    SortedMap<K, V> replace(Object pre, Entry<K, V> post);
+
+    @Override
+    SortedMap<K, V> add(Entry<K, V> e);
+
+    @Override
+    SortedMap<K, V> remove(Object e);
+
+    @Override
+    SortedMap<K, V> addAll(Collection<? extends Entry<K, V>> c);
+
+    @Override
+    SortedMap<K, V> removeAll(Collection<?> c);
+
+    @Override
+    SortedMap<K, V> clear();
+
+}
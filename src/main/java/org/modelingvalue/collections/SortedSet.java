@@ -0,0 +1,106 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections;
+
+import java.util.Comparator;
+
+import org.modelingvalue.collections.impl.SortedSetImpl;
+import org.modelingvalue.collections.util.Mergeable;
+
+/**
+ * A persistent set that keeps its elements ordered by a {@link Comparator}. Elements that compare equal are the same
+ * element of the set.
+ */
+public interface SortedSet<T> extends ContainingCollection<T>, Mergeable<SortedSet<T>> {
+    @SuppressWarnings("unchecked")
+    static <T extends Comparable<? super T>> SortedSet<T> of() {
+        return SortedSetImpl.EMPTY;
+    }
+
+    @SafeVarargs
+    static <T extends Comparable<? super T>> SortedSet<T> of(T... elements) {
+        return of(Comparator.naturalOrder(), elements);
+    }
+
+    @SafeVarargs
+    static <T> SortedSet<T> of(Comparator<? super T> comparator, T... elements) {
+        return SortedSetImpl.of(comparator, elements);
+    }
+
+    Comparator<? super T> comparator();
+
+    T first();
+
+    T last();
+
+    T floor(T e);
+
+    T ceiling(T e);
+
+    T lower(T e);
+
+    T higher(T e);
+
+    /**
+     * Returns the number of elements less than e.
+     */
+    int rank(T e);
+
+    /**
+     * Returns the element at the given rank.
+     */
+    T select(int rank);
+
+    /**
+     * Returns the number of elements from (inclusive) to (exclusive).
+     */
+    int countBetween(T from, T to);
+
+    /**
+     * Returns the elements from (inclusive) to (exclusive) without visiting the elements outside that range.
+     */
+    Collection<T> range(T from, T to);
+
+    SortedSet<T> headSet(T to);
+
+    SortedSet<T> tailSet(T from);
+
+    SortedSet<T> subSet(T from, T to);
+
+    boolean containsAll(Collection<?> c);
+
+    @Override
+    SortedSet<T> replace(Object pre, T post);
+
+    @Override
+    SortedSet<T> add(T e);
+
+    @Override
+    SortedSet<T> remove(Object e);
+
+    @Override
+    SortedSet<T> addAll(Collection<? extends T> c);
+
+    @Override
+    SortedSet<T> removeAll(Collection<?> c);
+
+    SortedSet<T> retainAll(Collection<?> c);
+
+    @Override
+    SortedSet<T> clear();
+
+}
@@ -0,0 +1,184 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.function.ObjIntConsumer;
+
+import org.modelingvalue.collections.Bag;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.impl.CountHashTrie.Node;
+import org.modelingvalue.collections.util.StringUtil;
+
+public class BagImpl<T> implements Bag<T> {
+
+    private static final long serialVersionUID = 1995513380219387993L;
+
+    @SuppressWarnings("rawtypes")
+    public static final Bag   EMPTY            = new BagImpl<>(null);
+
+    private final Node        root;
+
+    private BagImpl(Node root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Bag<T> of(T[] elements) {
+        Node n = null;
+        for (T e : elements) {
+            n = CountHashTrie.add(n, e, 1);
+        }
+        return ((BagImpl<T>) EMPTY).create(n);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Bag<T> create(Node n) {
+        return n == root ? this : n == null ? EMPTY : new BagImpl<>(n);
+    }
+
+    private static Node root(Bag<?> bag) {
+        return ((BagImpl<?>) bag).root;
+    }
+
+    @Override
+    public int size() {
+        return CountHashTrie.total(root);
+    }
+
+    @Override
+    public int distinctSize() {
+        return CountHashTrie.size(root);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public boolean contains(T e) {
+        return CountHashTrie.get(root, e) > 0;
+    }
+
+    @Override
+    public int count(T e) {
+        return CountHashTrie.get(root, e);
+    }
+
+    @Override
+    public Bag<T> add(T e) {
+        return create(CountHashTrie.add(root, e, 1));
+    }
+
+    @Override
+    public Bag<T> add(T e, int n) {
+        return create(CountHashTrie.add(root, e, n));
+    }
+
+    @Override
+    public Bag<T> remove(T e) {
+        return create(CountHashTrie.add(root, e, -1));
+    }
+
+    @Override
+    public Bag<T> remove(T e, int n) {
+        return create(CountHashTrie.add(root, e, -n));
+    }
+
+    @Override
+    public Bag<T> setCount(T e, int n) {
+        return create(CountHashTrie.set(root, e, n));
+    }
+
+    @Override
+    public Bag<T> addAll(Bag<? extends T> other) {
+        if (root == null) {
+            return create(root(other));
+        }
+        Node[] r = {root};
+        CountHashTrie.visit(root(other), (k, c) -> r[0] = CountHashTrie.add(r[0], k, c));
+        return create(r[0]);
+    }
+
+    @Override
+    public Bag<T> addAll(Iterable<? extends T> elements) {
+        Node n = root;
+        for (T e : elements) {
+            n = CountHashTrie.add(n, e, 1);
+        }
+        return create(n);
+    }
+
+    @Override
+    public Bag<T> clear() {
+        return create(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Set<T> toSet() {
+        Object[] array = new Object[distinctSize()];
+        int[] i = new int[1];
+        CountHashTrie.visit(root, (k, c) -> array[i[0]++] = k);
+        return Set.of((T[]) array);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(ObjIntConsumer<? super T> action) {
+        CountHashTrie.visit(root, (k, c) -> action.accept((T) k, c));
+    }
+
+    @Override
+    public Bag<T> merge(Bag<T>[] branches, int length) {
+        Node[] nodes = new Node[length];
+        for (int i = 0; i < length; i++) {
+            nodes[i] = root(branches[i]);
+        }
+        return create(CountHashTrie.merge(root, nodes, length));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Bag<T> getMerger() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Class<Bag> getMeetClass() {
+        return Bag.class;
+    }
+
+    @Override
+    public int hashCode() {
+        return CountHashTrie.hash(root);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || (obj instanceof BagImpl && CountHashTrie.equals(root, ((BagImpl<?>) obj).root));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("Bag[");
+        CountHashTrie.visit(root, (k, c) -> b.append(b.length() > 4 ? "," : "").append(StringUtil.toString(k)).append('=').append(c));
+        return b.append(']').toString();
+    }
+
+}
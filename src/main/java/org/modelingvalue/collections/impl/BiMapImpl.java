@@ -0,0 +1,212 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+import org.modelingvalue.collections.BiMap;
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.util.NotMergeableException;
+import org.modelingvalue.collections.util.Pair;
+
+public class BiMapImpl<K, V> implements BiMap<K, V> {
+
+    private static final long         serialVersionUID = -2737627833215353660L;
+
+    @SuppressWarnings("rawtypes")
+    public static final BiMap         EMPTY            = new BiMapImpl<>(Map.of(), Map.of());
+
+    private final Map<K, V>           forward;
+    private final Map<V, K>           backward;
+    private transient BiMapImpl<V, K> inverse;
+
+    private BiMapImpl(Map<K, V> forward, Map<V, K> backward) {
+        this.forward = forward;
+        this.backward = backward;
+    }
+
+    @SuppressWarnings("unchecked")
+    private BiMap<K, V> create(Map<K, V> forward, Map<V, K> backward) {
+        return forward.isEmpty() ? EMPTY : forward == this.forward && backward == this.backward ? this : new BiMapImpl<>(forward, backward);
+    }
+
+    @Override
+    public int size() {
+        return forward.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return forward.isEmpty();
+    }
+
+    @Override
+    public V get(K key) {
+        return forward.get(key);
+    }
+
+    @Override
+    public K getKey(V value) {
+        return backward.get(value);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return forward.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        return backward.containsKey(value);
+    }
+
+    @Override
+    public BiMap<K, V> put(K key, V value) {
+        K pre = backward.get(value);
+        if (pre != null && !Objects.equals(pre, key)) {
+            throw new IllegalArgumentException(value + " is already bound to " + pre);
+        }
+        return forcePut(key, value);
+    }
+
+    @Override
+    public BiMap<K, V> forcePut(K key, V value) {
+        V preValue = forward.get(key);
+        if (preValue != null && Objects.equals(preValue, value)) {
+            return this;
+        }
+        K preKey = backward.get(value);
+        Map<K, V> f = preKey != null ? forward.removeKey(preKey) : forward;
+        Map<V, K> b = preValue != null ? backward.removeKey(preValue) : backward;
+        return create(f.put(key, value), b.put(value, key));
+    }
+
+    @Override
+    public BiMap<K, V> removeKey(K key) {
+        V value = forward.get(key);
+        return value == null ? this : create(forward.removeKey(key), backward.removeKey(value));
+    }
+
+    @Override
+    public BiMap<K, V> removeValue(V value) {
+        K key = backward.get(value);
+        return key == null ? this : create(forward.removeKey(key), backward.removeKey(value));
+    }
+
+    @Override
+    public BiMap<K, V> clear() {
+        return create(Map.of(), Map.of());
+    }
+
+    @Override
+    public Collection<K> toKeys() {
+        return forward.toKeys();
+    }
+
+    @Override
+    public Collection<V> toValues() {
+        return backward.toKeys();
+    }
+
+    @Override
+    public Map<K, V> asMap() {
+        return forward;
+    }
+
+    @Override
+    public BiMap<V, K> inverse() {
+        BiMapImpl<V, K> result = inverse;
+        if (result == null) {
+            result = new BiMapImpl<>(backward, forward);
+            result.inverse = this;
+            inverse = result;
+        }
+        return result;
+    }
+
+    @Override
+    public void forEach(BiConsumer<K, V> action) {
+        forward.forEach(action);
+    }
+
+    /**
+     * Merges the forward maps and derives the inverse from the changes.
+     *
+     * @throws NotMergeableException if the merge binds one value to two keys
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public BiMap<K, V> merge(BiMap<K, V>[] branches, int length) {
+        Map<K, V>[] forwards = new Map[length];
+        for (int i = 0; i < length; i++) {
+            forwards[i] = ((BiMapImpl<K, V>) branches[i]).forward;
+        }
+        Map<K, V> merged = forward.merge(forwards, length);
+        if (merged == forward) {
+            return this;
+        }
+        Collection<Entry<K, Pair<V, V>>> diff = forward.diff(merged).asList();
+        Map<V, K> b = backward;
+        for (Entry<K, Pair<V, V>> d : diff) {
+            if (d.getValue().a() != null) {
+                b = b.removeKey(d.getValue().a());
+            }
+        }
+        for (Entry<K, Pair<V, V>> d : diff) {
+            V value = d.getValue().b();
+            if (value != null) {
+                K other = b.get(value);
+                if (other != null) {
+                    throw new NotMergeableException(value + " -> " + other + ", " + d.getKey());
+                }
+                b = b.put(value, d.getKey());
+            }
+        }
+        return create(merged, b);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public BiMap<K, V> getMerger() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Class<BiMap> getMeetClass() {
+        return BiMap.class;
+    }
+
+    @Override
+    public int hashCode() {
+        return forward.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || (obj instanceof BiMapImpl && forward.equals(((BiMapImpl<?, ?>) obj).forward));
+    }
+
+    @Override
+    public String toString() {
+        return "BiMap" + forward.toString().substring(3);
+    }
+
+}
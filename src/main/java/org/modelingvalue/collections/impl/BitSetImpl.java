@@ -0,0 +1,312 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.modelingvalue.collections.BitSet;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.impl.BitTrie.Node;
+
+public class BitSetImpl implements BitSet {
+
+    private static final long  serialVersionUID = 7497964228064513641L;
+    private static final int   CHARACTERISTICS  = Spliterator.DISTINCT | Spliterator.SIZED | Spliterator.IMMUTABLE | Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.SORTED;
+
+    public static final BitSet EMPTY            = new BitSetImpl(null, 0);
+
+    private final Node         root;
+    private final int          depth;
+    private transient int      hash;
+
+    private BitSetImpl(Node root, int depth) {
+        this.root = root;
+        this.depth = depth;
+    }
+
+    public static BitSet of(int[] elements) {
+        int max = -1;
+        for (int e : elements) {
+            max = Math.max(max, check(e));
+        }
+        if (max < 0) {
+            return EMPTY;
+        } else if ((max >>> 6) > 2L * elements.length + BitTrie.WORDS) {
+            BitSet set = EMPTY;
+            for (int e : elements) {
+                set = set.add(e);
+            }
+            return set;
+        }
+        long[] flat = new long[(max >>> 6) + 1];
+        for (int e : elements) {
+            flat[e >>> 6] |= 1L << e;
+        }
+        return ((BitSetImpl) EMPTY).create(BitTrie.build(flat, BitTrie.depth(max)), BitTrie.depth(max));
+    }
+
+    public static BitSet of(Iterable<Integer> elements) {
+        int[] array = new int[16];
+        int size = 0;
+        for (Integer e : elements) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size * 2);
+            }
+            array[size++] = e;
+        }
+        return of(Arrays.copyOf(array, size));
+    }
+
+    public static BitSet range(int from, int to) {
+        check(from);
+        if (to <= from) {
+            return EMPTY;
+        }
+        int max = to - 1;
+        long[] flat = new long[(max >>> 6) + 1];
+        int fw = from >>> 6, tw = max >>> 6;
+        for (int i = fw; i <= tw; i++) {
+            flat[i] = -1L;
+        }
+        flat[fw] &= -1L << from;
+        flat[tw] &= -1L >>> (63 - (max & 63));
+        return ((BitSetImpl) EMPTY).create(BitTrie.build(flat, BitTrie.depth(max)), BitTrie.depth(max));
+    }
+
+    private static int check(int e) {
+        if (e < 0) {
+            throw new IllegalArgumentException("Negative element " + e);
+        }
+        return e;
+    }
+
+    private BitSet create(Node n, int d) {
+        return create(n, d, this);
+    }
+
+    private BitSet create(Node n, int d, BitSetImpl other) {
+        while (d > 0 && n != null && BitTrie.isLifted(n)) {
+            n = n.nodes[0];
+            d--;
+        }
+        return n == null ? EMPTY : n == root ? this : n == other.root ? other : new BitSetImpl(n, d);
+    }
+
+    private BitSet combine(BitSet other, int op) {
+        BitSetImpl o = (BitSetImpl) other;
+        int d = Math.max(depth, o.depth);
+        return create(BitTrie.combine(BitTrie.lift(root, depth, d), BitTrie.lift(o.root, o.depth, d), d, op), d, o);
+    }
+
+    @Override
+    public int cardinality() {
+        return BitTrie.cardinality(root);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public boolean contains(int e) {
+        return BitTrie.contains(root, depth, e);
+    }
+
+    @Override
+    public BitSet add(int e) {
+        int d = Math.max(depth, BitTrie.depth(check(e)));
+        return create(BitTrie.set(BitTrie.lift(root, depth, d), d, e, true), d);
+    }
+
+    @Override
+    public BitSet remove(int e) {
+        return contains(e) ? create(BitTrie.set(root, depth, e, false), depth) : this;
+    }
+
+    @Override
+    public BitSet addAll(BitSet other) {
+        return combine(other, BitTrie.OR);
+    }
+
+    @Override
+    public BitSet retainAll(BitSet other) {
+        return combine(other, BitTrie.AND);
+    }
+
+    @Override
+    public BitSet removeAll(BitSet other) {
+        return combine(other, BitTrie.AND_NOT);
+    }
+
+    @Override
+    public BitSet exclusiveAll(BitSet other) {
+        return combine(other, BitTrie.XOR);
+    }
+
+    @Override
+    public BitSet clear() {
+        return EMPTY;
+    }
+
+    @Override
+    public int nextSetBit(int from) {
+        return BitTrie.next(root, depth, from);
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        BitTrie.forEach(root, depth, 0, action);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int next = nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                int e = next;
+                next = e == Integer.MAX_VALUE ? -1 : nextSetBit(e + 1);
+                return e;
+            }
+        };
+    }
+
+    @Override
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), cardinality(), CHARACTERISTICS), false);
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] array = new int[cardinality()];
+        int[] i = new int[1];
+        forEach(e -> array[i[0]++] = e);
+        return array;
+    }
+
+    @Override
+    public Set<Integer> toSet() {
+        return Set.of(stream().boxed().toArray(Integer[]::new));
+    }
+
+    @Override
+    public java.util.Set<Integer> asJavaSet() {
+        return new JavaSetView(this);
+    }
+
+    private static final class JavaSetView extends AbstractSet<Integer> {
+        private final BitSet bits;
+
+        private JavaSetView(BitSet bits) {
+            this.bits = bits;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && (Integer) o >= 0 && bits.contains((Integer) o);
+        }
+
+        @Override
+        public int size() {
+            return bits.cardinality();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return bits.isEmpty();
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return bits.iterator();
+        }
+
+        @Override
+        public int hashCode() {
+            return bits.hashCode();
+        }
+    }
+
+    @Override
+    public BitSet merge(BitSet[] branches, int length) {
+        int d = depth;
+        for (int i = 0; i < length; i++) {
+            d = Math.max(d, ((BitSetImpl) branches[i]).depth);
+        }
+        Node base = BitTrie.lift(root, depth, d), removed = null, added = null;
+        for (int i = 0; i < length; i++) {
+            BitSetImpl b = (BitSetImpl) branches[i];
+            Node branch = BitTrie.lift(b.root, b.depth, d);
+            removed = BitTrie.combine(removed, BitTrie.combine(base, branch, d, BitTrie.AND_NOT), d, BitTrie.OR);
+            added = BitTrie.combine(added, BitTrie.combine(branch, base, d, BitTrie.AND_NOT), d, BitTrie.OR);
+        }
+        return create(BitTrie.combine(BitTrie.combine(base, removed, d, BitTrie.AND_NOT), added, d, BitTrie.OR), d);
+    }
+
+    @Override
+    public BitSet getMerger() {
+        return EMPTY;
+    }
+
+    @Override
+    public Class<BitSet> getMeetClass() {
+        return BitSet.class;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && root != null) {
+            int[] sum = new int[1];
+            forEach(e -> sum[0] += e);
+            hash = h = sum[0];
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || (obj instanceof BitSetImpl && depth == ((BitSetImpl) obj).depth && BitTrie.equals(root, ((BitSetImpl) obj).root));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("BitSet[");
+        forEach(e -> b.append(b.length() > 7 ? "," : "").append(e));
+        return b.append(']').toString();
+    }
+
+}
@@ -0,0 +1,264 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Persistent radix trie of {@code long} words for non-negative {@code int} elements. A leaf holds {@link #WORDS} words,
+ * a branch {@link #BRANCH} sub tries. Empty sub tries are {@code null} and every node caches its cardinality, so the
+ * shape of a trie of a given depth only depends on its content and unchanged sub tries are shared by identity.
+ */
+final class BitTrie {
+
+    static final int          WORDS        = 32;
+    static final int          BRANCH       = 32;
+    private static final int  LEAF_SHIFT   = 11;
+    private static final int  BRANCH_SHIFT = 5;
+
+    static final int          OR           = 0;
+    static final int          AND          = 1;
+    static final int          AND_NOT      = 2;
+    static final int          XOR          = 3;
+
+    private BitTrie() {
+    }
+
+    static final class Node implements Serializable {
+        private static final long serialVersionUID = 9147558434813999246L;
+
+        final long[]              words;
+        final Node[]              nodes;
+        final int                 cardinality;
+
+        private Node(long[] words, Node[] nodes, int cardinality) {
+            this.words = words;
+            this.nodes = nodes;
+            this.cardinality = cardinality;
+        }
+    }
+
+    static int cardinality(Node n) {
+        return n == null ? 0 : n.cardinality;
+    }
+
+    private static int shift(int d) {
+        return LEAF_SHIFT + BRANCH_SHIFT * (d - 1);
+    }
+
+    private static int capacity(int d) {
+        return LEAF_SHIFT + BRANCH_SHIFT * d;
+    }
+
+    static int depth(int e) {
+        int d = 0;
+        while ((e >>> capacity(d)) != 0) {
+            d++;
+        }
+        return d;
+    }
+
+    static boolean contains(Node n, int d, int e) {
+        if (n == null || e < 0 || (e >>> capacity(d)) != 0) {
+            return false;
+        }
+        for (; d > 0; d--) {
+            n = n.nodes[(e >>> shift(d)) & (BRANCH - 1)];
+            if (n == null) {
+                return false;
+            }
+        }
+        return (n.words[(e >>> 6) & (WORDS - 1)] & (1L << e)) != 0;
+    }
+
+    static Node set(Node n, int d, int e, boolean on) {
+        if (d == 0) {
+            int i = (e >>> 6) & (WORDS - 1);
+            long w = n == null ? 0L : n.words[i];
+            long nw = on ? w | (1L << e) : w & ~(1L << e);
+            if (nw == w) {
+                return n;
+            } else if (!on && n.cardinality == 1) {
+                return null;
+            }
+            long[] words = n == null ? new long[WORDS] : n.words.clone();
+            words[i] = nw;
+            return new Node(words, null, cardinality(n) + (on ? 1 : -1));
+        }
+        int i = (e >>> shift(d)) & (BRANCH - 1);
+        Node old = n == null ? null : n.nodes[i];
+        Node niw = set(old, d - 1, e, on);
+        if (niw == old) {
+            return n;
+        }
+        int cardinality = cardinality(n) - cardinality(old) + cardinality(niw);
+        if (cardinality == 0) {
+            return null;
+        }
+        Node[] nodes = n == null ? new Node[BRANCH] : n.nodes.clone();
+        nodes[i] = niw;
+        return new Node(null, nodes, cardinality);
+    }
+
+    /**
+     * Combines two tries of the same depth word by word. Sub tries that are shared, absent or unchanged by the
+     * operation are returned as is, without visiting their words.
+     */
+    static Node combine(Node a, Node b, int d, int op) {
+        if (a == b) {
+            return op == OR || op == AND ? a : null;
+        } else if (a == null) {
+            return op == OR || op == XOR ? b : null;
+        } else if (b == null) {
+            return op == AND ? null : a;
+        }
+        int cardinality = 0;
+        boolean sameA = true, sameB = true;
+        if (d == 0) {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < WORDS; i++) {
+                long wa = a.words[i], wb = b.words[i];
+                long w = op == OR ? wa | wb : op == AND ? wa & wb : op == AND_NOT ? wa & ~wb : wa ^ wb;
+                words[i] = w;
+                cardinality += Long.bitCount(w);
+                sameA &= w == wa;
+                sameB &= w == wb;
+            }
+            return cardinality == 0 ? null : sameA ? a : sameB ? b : new Node(words, null, cardinality);
+        }
+        Node[] nodes = new Node[BRANCH];
+        for (int i = 0; i < BRANCH; i++) {
+            Node n = combine(a.nodes[i], b.nodes[i], d - 1, op);
+            nodes[i] = n;
+            cardinality += cardinality(n);
+            sameA &= n == a.nodes[i];
+            sameB &= n == b.nodes[i];
+        }
+        return cardinality == 0 ? null : sameA ? a : sameB ? b : new Node(null, nodes, cardinality);
+    }
+
+    static Node lift(Node n, int from, int to) {
+        for (; n != null && from < to; from++) {
+            Node[] nodes = new Node[BRANCH];
+            nodes[0] = n;
+            n = new Node(null, nodes, n.cardinality);
+        }
+        return n;
+    }
+
+    static boolean isLifted(Node n) {
+        for (int i = 1; i < BRANCH; i++) {
+            if (n.nodes[i] != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Node build(long[] flat, int d) {
+        return build(flat, d, 0);
+    }
+
+    private static Node build(long[] flat, int d, int base) {
+        if (base >= flat.length) {
+            return null;
+        }
+        int cardinality = 0;
+        if (d == 0) {
+            long[] words = Arrays.copyOfRange(flat, base, base + WORDS);
+            for (long w : words) {
+                cardinality += Long.bitCount(w);
+            }
+            return cardinality == 0 ? null : new Node(words, null, cardinality);
+        }
+        Node[] nodes = new Node[BRANCH];
+        int span = WORDS << (BRANCH_SHIFT * (d - 1));
+        for (int i = 0; i < BRANCH; i++) {
+            nodes[i] = build(flat, d - 1, base + i * span);
+            cardinality += cardinality(nodes[i]);
+        }
+        return cardinality == 0 ? null : new Node(null, nodes, cardinality);
+    }
+
+    static boolean equals(Node a, Node b) {
+        if (a == b) {
+            return true;
+        } else if (a == null || b == null || a.cardinality != b.cardinality) {
+            return false;
+        } else if (a.words != null) {
+            return Arrays.equals(a.words, b.words);
+        }
+        for (int i = 0; i < BRANCH; i++) {
+            if (!equals(a.nodes[i], b.nodes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void forEach(Node n, int d, int base, IntConsumer action) {
+        if (n == null) {
+            return;
+        } else if (d == 0) {
+            for (int i = 0; i < WORDS; i++) {
+                for (long w = n.words[i]; w != 0L; w &= w - 1) {
+                    action.accept(base + (i << 6) + Long.numberOfTrailingZeros(w));
+                }
+            }
+            return;
+        }
+        int s = shift(d);
+        for (int i = 0; i < BRANCH; i++) {
+            forEach(n.nodes[i], d - 1, base + (i << s), action);
+        }
+    }
+
+    static int next(Node n, int d, int from) {
+        if (n == null || (from >>> capacity(d)) != 0) {
+            return -1;
+        }
+        return next(n, d, 0, Math.max(from, 0));
+    }
+
+    private static int next(Node n, int d, int base, int from) {
+        if (d == 0) {
+            int i = (from - base) >>> 6;
+            for (long w = n.words[i] & (-1L << from); true; w = n.words[i]) {
+                if (w != 0L) {
+                    return base + (i << 6) + Long.numberOfTrailingZeros(w);
+                } else if (++i == WORDS) {
+                    return -1;
+                }
+            }
+        }
+        int s = shift(d);
+        for (int i = (from - base) >>> s; i < BRANCH; i++) {
+            Node c = n.nodes[i];
+            if (c != null) {
+                int cb = base + (i << s);
+                int r = next(c, d - 1, cb, Math.max(from, cb));
+                if (r >= 0) {
+                    return r;
+                }
+            }
+        }
+        return -1;
+    }
+
+}
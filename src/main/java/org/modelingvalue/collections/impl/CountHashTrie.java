@@ -0,0 +1,386 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import static org.modelingvalue.collections.impl.HashCollectionImpl.NR_OF_PARTS;
+import static org.modelingvalue.collections.impl.HashCollectionImpl.PART_MASKS;
+import static org.modelingvalue.collections.impl.HashCollectionImpl.PART_SHIFTS;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Persistent hash trie from keys to positive {@code int} counts, partitioned like {@link IntHashTrie}. Every node keeps
+ * its single keys inline in an {@code Object[]} with a parallel {@code int[]} of counts, so changing a count never
+ * boxes or allocates an entry. A count that drops to zero removes the key.
+ */
+final class CountHashTrie {
+
+    private static final Object[] NO_KEYS   = new Object[0];
+    private static final int[]    NO_COUNTS = new int[0];
+    private static final Node[]   NO_NODES  = new Node[0];
+
+    private CountHashTrie() {
+    }
+
+    static final class Node implements Serializable {
+        private static final long serialVersionUID = 5405360080538830686L;
+
+        final long                dataMap;
+        final long                nodeMap;
+        final Object[]            keys;
+        final int[]               counts;
+        final Node[]              nodes;
+        final int                 size;
+        final int                 total;
+        final int                 hash;
+
+        private Node(long dataMap, long nodeMap, Object[] keys, int[] counts, Node[] nodes, int size, int total, int hash) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.keys = keys;
+            this.counts = counts;
+            this.nodes = nodes;
+            this.size = size;
+            this.total = total;
+            this.hash = hash;
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(Object key, int count);
+    }
+
+    @FunctionalInterface
+    interface Differ {
+        void diff(Object key, int count1, int count2);
+    }
+
+    static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    static int total(Node n) {
+        return n == null ? 0 : n.total;
+    }
+
+    static int hash(Node n) {
+        return n == null ? 0 : n.hash;
+    }
+
+    private static int position(Object k) {
+        return Objects.hashCode(k) * 0x9E3779B9;
+    }
+
+    private static int part(int p, int lev) {
+        return (p & PART_MASKS[lev]) >>> PART_SHIFTS[lev];
+    }
+
+    private static int hash(Object k, int c) {
+        return Objects.hashCode(k) ^ c;
+    }
+
+    static int get(Node n, Object k) {
+        int p = position(k);
+        for (int lev = 0; n != null; lev++) {
+            if (lev == NR_OF_PARTS) {
+                return find(n, k);
+            }
+            long bit = 1L << part(p, lev);
+            if ((n.dataMap & bit) != 0) {
+                int i = Long.bitCount(n.dataMap & (bit - 1));
+                return Objects.equals(n.keys[i], k) ? n.counts[i] : 0;
+            } else if ((n.nodeMap & bit) != 0) {
+                n = n.nodes[Long.bitCount(n.nodeMap & (bit - 1))];
+            } else {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    static Node add(Node n, Object k, int delta) {
+        return delta == 0 ? n : add(n, 0, k, position(k), delta);
+    }
+
+    static Node set(Node n, Object k, int count) {
+        return add(n, k, Math.max(count, 0) - get(n, k));
+    }
+
+    private static Node add(Node n, int lev, Object k, int p, int delta) {
+        if (n == null) {
+            return delta > 0 ? single(lev, k, p, delta) : null;
+        } else if (lev == NR_OF_PARTS) {
+            for (int i = 0; i < n.keys.length; i++) {
+                if (Objects.equals(n.keys[i], k)) {
+                    return setCount(n, i, 0L, n.counts[i] + delta);
+                }
+            }
+            int i = n.keys.length;
+            return delta > 0 ? new Node(0L, 0L, insert(n.keys, i, k), insert(n.counts, i, delta), NO_NODES, n.size + 1, n.total + delta, n.hash + hash(k, delta)) : n;
+        }
+        long bit = 1L << part(p, lev);
+        if ((n.dataMap & bit) != 0) {
+            int i = Long.bitCount(n.dataMap & (bit - 1));
+            Object k0 = n.keys[i];
+            if (Objects.equals(k0, k)) {
+                return setCount(n, i, bit, n.counts[i] + delta);
+            } else if (delta <= 0) {
+                return n;
+            }
+            Node sub = pair(lev + 1, k0, position(k0), n.counts[i], k, p, delta);
+            int j = Long.bitCount(n.nodeMap & (bit - 1));
+            return new Node(n.dataMap & ~bit, n.nodeMap | bit, remove(n.keys, i), remove(n.counts, i), insert(n.nodes, j, sub), n.size + 1, n.total + delta, n.hash + hash(k, delta));
+        } else if ((n.nodeMap & bit) != 0) {
+            int j = Long.bitCount(n.nodeMap & (bit - 1));
+            Node old = n.nodes[j];
+            Node niw = add(old, lev + 1, k, p, delta);
+            if (niw == old) {
+                return n;
+            } else if (niw.size == 1) {
+                int i = Long.bitCount(n.dataMap & (bit - 1));
+                return new Node(n.dataMap | bit, n.nodeMap & ~bit, insert(n.keys, i, niw.keys[0]), insert(n.counts, i, niw.counts[0]), remove(n.nodes, j), n.size - 1, n.total - old.total + niw.total, n.hash - old.hash + niw.hash);
+            } else {
+                Node[] nodes = n.nodes.clone();
+                nodes[j] = niw;
+                return new Node(n.dataMap, n.nodeMap, n.keys, n.counts, nodes, n.size - old.size + niw.size, n.total - old.total + niw.total, n.hash - old.hash + niw.hash);
+            }
+        } else if (delta <= 0) {
+            return n;
+        } else {
+            int i = Long.bitCount(n.dataMap & (bit - 1));
+            return new Node(n.dataMap | bit, n.nodeMap, insert(n.keys, i, k), insert(n.counts, i, delta), n.nodes, n.size + 1, n.total + delta, n.hash + hash(k, delta));
+        }
+    }
+
+    private static Node setCount(Node n, int i, long bit, int count) {
+        Object k = n.keys[i];
+        int old = n.counts[i];
+        if (count <= 0) {
+            return n.size == 1 ? null : new Node(n.dataMap & ~bit, n.nodeMap, remove(n.keys, i), remove(n.counts, i), n.nodes, n.size - 1, n.total - old, n.hash - hash(k, old));
+        } else if (count == old) {
+            return n;
+        }
+        int[] counts = n.counts.clone();
+        counts[i] = count;
+        return new Node(n.dataMap, n.nodeMap, n.keys, counts, n.nodes, n.size, n.total - old + count, n.hash - hash(k, old) + hash(k, count));
+    }
+
+    private static Node single(int lev, Object k, int p, int c) {
+        long dataMap = lev == NR_OF_PARTS ? 0L : 1L << part(p, lev);
+        return new Node(dataMap, 0L, new Object[]{k}, new int[]{c}, NO_NODES, 1, c, hash(k, c));
+    }
+
+    private static Node pair(int lev, Object k0, int p0, int c0, Object k1, int p1, int c1) {
+        int hash = hash(k0, c0) + hash(k1, c1);
+        if (lev == NR_OF_PARTS) {
+            return new Node(0L, 0L, new Object[]{k0, k1}, new int[]{c0, c1}, NO_NODES, 2, c0 + c1, hash);
+        }
+        int i0 = part(p0, lev), i1 = part(p1, lev);
+        if (i0 == i1) {
+            return new Node(0L, 1L << i0, NO_KEYS, NO_COUNTS, new Node[]{pair(lev + 1, k0, p0, c0, k1, p1, c1)}, 2, c0 + c1, hash);
+        } else if (i0 < i1) {
+            return new Node(1L << i0 | 1L << i1, 0L, new Object[]{k0, k1}, new int[]{c0, c1}, NO_NODES, 2, c0 + c1, hash);
+        } else {
+            return new Node(1L << i0 | 1L << i1, 0L, new Object[]{k1, k0}, new int[]{c1, c0}, NO_NODES, 2, c0 + c1, hash);
+        }
+    }
+
+    static boolean equals(Node a, Node b) {
+        return equals(a, b, 0);
+    }
+
+    private static boolean equals(Node a, Node b, int lev) {
+        if (a == b) {
+            return true;
+        } else if (a == null || b == null || a.size != b.size || a.total != b.total || a.hash != b.hash || a.dataMap != b.dataMap || a.nodeMap != b.nodeMap) {
+            return false;
+        } else if (lev == NR_OF_PARTS) {
+            for (int i = 0; i < a.keys.length; i++) {
+                if (find(b, a.keys[i]) != a.counts[i]) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (!Arrays.equals(a.keys, b.keys) || !Arrays.equals(a.counts, b.counts)) {
+            return false;
+        }
+        for (int j = 0; j < a.nodes.length; j++) {
+            if (!equals(a.nodes[j], b.nodes[j], lev + 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int find(Node collisions, Object k) {
+        for (int i = 0; i < collisions.keys.length; i++) {
+            if (Objects.equals(collisions.keys[i], k)) {
+                return collisions.counts[i];
+            }
+        }
+        return 0;
+    }
+
+    static void visit(Node n, Visitor visitor) {
+        if (n != null) {
+            for (int i = 0; i < n.keys.length; i++) {
+                visitor.visit(n.keys[i], n.counts[i]);
+            }
+            for (Node sub : n.nodes) {
+                visit(sub, visitor);
+            }
+        }
+    }
+
+    /**
+     * Calls the differ for every key that has a different count in the two tries, passing {@code 0} for an absent
+     * key. Sub tries that are shared by both tries are skipped.
+     */
+    static void diff(Node a, Node b, Differ differ) {
+        diff(a, b, 0, differ);
+    }
+
+    private static void diff(Node a, Node b, int lev, Differ differ) {
+        if (a == b) {
+            return;
+        } else if (a == null) {
+            visit(b, (k, c) -> differ.diff(k, 0, c));
+            return;
+        } else if (b == null) {
+            visit(a, (k, c) -> differ.diff(k, c, 0));
+            return;
+        } else if (lev == NR_OF_PARTS) {
+            for (int i = 0; i < a.keys.length; i++) {
+                int cb = find(b, a.keys[i]);
+                if (a.counts[i] != cb) {
+                    differ.diff(a.keys[i], a.counts[i], cb);
+                }
+            }
+            for (int i = 0; i < b.keys.length; i++) {
+                if (find(a, b.keys[i]) == 0) {
+                    differ.diff(b.keys[i], 0, b.counts[i]);
+                }
+            }
+            return;
+        }
+        for (long all = a.dataMap | a.nodeMap | b.dataMap | b.nodeMap; all != 0L; all &= all - 1) {
+            long bit = all & -all;
+            if ((a.dataMap & bit) != 0 && (b.dataMap & bit) != 0) {
+                int ia = Long.bitCount(a.dataMap & (bit - 1)), ib = Long.bitCount(b.dataMap & (bit - 1));
+                int ca = a.counts[ia], cb = b.counts[ib];
+                if (!Objects.equals(a.keys[ia], b.keys[ib])) {
+                    differ.diff(a.keys[ia], ca, 0);
+                    differ.diff(b.keys[ib], 0, cb);
+                } else if (ca != cb) {
+                    differ.diff(a.keys[ia], ca, cb);
+                }
+            } else {
+                diff(sub(a, bit, lev), sub(b, bit, lev), lev + 1, differ);
+            }
+        }
+    }
+
+    private static Node sub(Node n, long bit, int lev) {
+        if ((n.nodeMap & bit) != 0) {
+            return n.nodes[Long.bitCount(n.nodeMap & (bit - 1))];
+        } else if ((n.dataMap & bit) != 0) {
+            int i = Long.bitCount(n.dataMap & (bit - 1));
+            return single(lev + 1, n.keys[i], position(n.keys[i]), n.counts[i]);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Adds the changes of every branch relative to the base. Only keys that are changed in at least one branch are
+     * resolved, a key whose summed count is not positive is removed.
+     */
+    static Node merge(Node base, Node[] branches, int length) {
+        Node[] changed = new Node[1];
+        for (int b = 0; b < length; b++) {
+            diff(base, branches[b], (k, c1, c2) -> changed[0] = set(changed[0], k, 1));
+        }
+        Node[] result = {base};
+        visit(changed[0], (k, x) -> {
+            int c = get(base, k);
+            long count = c;
+            for (int b = 0; b < length; b++) {
+                count += get(branches[b], k) - c;
+            }
+            result[0] = add(result[0], k, (int) Math.max(count, 0L) - c);
+        });
+        return result[0];
+    }
+
+    private static Object[] insert(Object[] a, int i, Object k) {
+        Object[] r = new Object[a.length + 1];
+        System.arraycopy(a, 0, r, 0, i);
+        r[i] = k;
+        System.arraycopy(a, i, r, i + 1, a.length - i);
+        return r;
+    }
+
+    private static Object[] remove(Object[] a, int i) {
+        if (a.length == 1) {
+            return NO_KEYS;
+        }
+        Object[] r = new Object[a.length - 1];
+        System.arraycopy(a, 0, r, 0, i);
+        System.arraycopy(a, i + 1, r, i, r.length - i);
+        return r;
+    }
+
+    private static int[] insert(int[] a, int i, int c) {
+        int[] r = new int[a.length + 1];
+        System.arraycopy(a, 0, r, 0, i);
+        r[i] = c;
+        System.arraycopy(a, i, r, i + 1, a.length - i);
+        return r;
+    }
+
+    private static int[] remove(int[] a, int i) {
+        if (a.length == 1) {
+            return NO_COUNTS;
+        }
+        int[] r = new int[a.length - 1];
+        System.arraycopy(a, 0, r, 0, i);
+        System.arraycopy(a, i + 1, r, i, r.length - i);
+        return r;
+    }
+
+    private static Node[] insert(Node[] a, int i, Node n) {
+        Node[] r = new Node[a.length + 1];
+        System.arraycopy(a, 0, r, 0, i);
+        r[i] = n;
+        System.arraycopy(a, i, r, i + 1, a.length - i);
+        return r;
+    }
+
+    private static Node[] remove(Node[] a, int i) {
+        if (a.length == 1) {
+            return NO_NODES;
+        }
+        Node[] r = new Node[a.length - 1];
+        System.arraycopy(a, 0, r, 0, i);
+        System.arraycopy(a, i + 1, r, i, r.length - i);
+        return r;
+    }
+
+}
@@ -83,7 +83,7 @@ public class DefaultMapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implem
 
     @Override
     public DefaultMap<K, V> put(K key, V val) {
-        return Objects.equals(val, defaultFunction.apply(key)) ? removeKey(key) : create(put(value, key(), Entry.of(key, val), key()));
+        return Objects.equals(val, defaultFunction.apply(key)) ? removeKey(key) : create(putValue(value, key(), key, identity(), val));
     }
 
     @Override
@@ -173,7 +173,7 @@ public class DefaultMapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implem
 
     @Override
     public DefaultMap<K, V> remove(K key, V val, BinaryOperator<V> merger) {
-        return remove(Entry.of(key, val), merger);
+        return create(removeValue(value, key(), key, identity(), val, (e1, e2) -> mergeEntry(create(e1), create(e2), merger)));
     }
 
     @Override
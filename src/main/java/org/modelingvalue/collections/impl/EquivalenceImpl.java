@@ -0,0 +1,78 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import org.modelingvalue.collections.Equivalence;
+import org.modelingvalue.collections.util.LambdaReflection;
+import org.modelingvalue.collections.util.SerializableBiPredicate;
+import org.modelingvalue.collections.util.SerializableToIntFunction;
+
+public final class EquivalenceImpl<T> implements Equivalence<T> {
+
+    private static final long                   serialVersionUID = -6207445096415366712L;
+
+    @SuppressWarnings("rawtypes")
+    public static final Equivalence             IDENTITY         = new EquivalenceImpl<>(System::identityHashCode, (a, b) -> a == b);
+
+    private final SerializableToIntFunction<T>  hash;
+    private final SerializableBiPredicate<T, T> equivalent;
+    private transient LambdaReflection[]        lambdas;
+
+    public EquivalenceImpl(SerializableToIntFunction<T> hash, SerializableBiPredicate<T, T> equivalent) {
+        this.hash = hash;
+        this.equivalent = equivalent;
+    }
+
+    @Override
+    public int hash(T t) {
+        return hash.applyAsInt(t);
+    }
+
+    @Override
+    public boolean equivalent(T a, T b) {
+        return equivalent.test(a, b);
+    }
+
+    private LambdaReflection[] lambdas() {
+        if (lambdas == null) {
+            lambdas = new LambdaReflection[]{hash.of(), equivalent.of()};
+        }
+        return lambdas;
+    }
+
+    @Override
+    public int hashCode() {
+        return lambdas()[0].hashCode() * 31 + lambdas()[1].hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (!(obj instanceof EquivalenceImpl)) {
+            return false;
+        }
+        EquivalenceImpl<?> other = (EquivalenceImpl<?>) obj;
+        return lambdas()[0].equals(other.lambdas()[0]) && lambdas()[1].equals(other.lambdas()[1]);
+    }
+
+    @Override
+    public String toString() {
+        return "Equivalence[" + lambdas()[0] + "," + lambdas()[1] + "]";
+    }
+
+}
@@ -0,0 +1,120 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.function.Function;
+
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Equivalence;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Serializer;
+
+@SuppressWarnings("serial")
+public class EquivalenceMapImpl<K, V> extends MapImpl<K, V> {
+
+    @SuppressWarnings("rawtypes")
+    private static final Function<Entry, Object>    VALUE = Entry::getValue;
+
+    private transient Equivalence<? super K>       equivalence;
+    private transient Function<Entry<K, V>, Object> key;
+    private transient Function<K, Object>          keyIdentity;
+
+    public EquivalenceMapImpl(Equivalence<? super K> equivalence, Entry<K, V>[] entries) {
+        super((Object) null);
+        init(equivalence);
+        this.value = entries.length == 1 ? entries[0] : putAll(null, key(), entries);
+    }
+
+    protected EquivalenceMapImpl(Equivalence<? super K> equivalence, Object value) {
+        super(value);
+        init(equivalence);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void init(Equivalence<? super K> equivalence) {
+        this.equivalence = equivalence;
+        this.key = (Function) new EquivalentKey(super.key(), VALUE, equivalence);
+        this.keyIdentity = (Function) new EquivalentKey(identity(), null, equivalence);
+    }
+
+    @Override
+    protected Function<Entry<K, V>, Object> key() {
+        return key;
+    }
+
+    @Override
+    protected Function<K, Object> keyIdentity() {
+        return keyIdentity;
+    }
+
+    @Override
+    public int hashCode() {
+        return equivalentHash(value, key()) ^ equivalence.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || !getClass().equals(obj.getClass())) {
+            return false;
+        }
+        EquivalenceMapImpl<?, ?> other = (EquivalenceMapImpl<?, ?>) obj;
+        return equivalence.equals(other.equivalence) && equivalent(value, other.value, key());
+    }
+
+    @Override
+    protected MapImpl<K, V> create(Object val) {
+        return val != value ? new EquivalenceMapImpl<>(equivalence, val) : this;
+    }
+
+    @Override
+    public Map<K, V> getMerger() {
+        return create(null);
+    }
+
+    @Override
+    public void javaSerialize(Serializer s) {
+        s.writeObject(equivalence);
+        super.javaSerialize(s);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void javaDeserialize(Deserializer s) {
+        init((Equivalence<? super K>) s.readObject());
+        super.javaDeserialize(s);
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        s.writeObject(equivalence);
+        s.writeInt(size());
+        for (Entry<K, V> e : this) {
+            s.writeObject(e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "unused", "rawtypes"})
+    private static <K, V> EquivalenceMapImpl<K, V> deserialize(Deserializer s) {
+        Equivalence<? super K> equivalence = (Equivalence<? super K>) s.readObject();
+        Entry[] entries = s.readArray(new Entry[]{});
+        return new EquivalenceMapImpl<K, V>(equivalence, entries);
+    }
+
+}
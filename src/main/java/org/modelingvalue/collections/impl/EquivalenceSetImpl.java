@@ -0,0 +1,109 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.function.Function;
+
+import org.modelingvalue.collections.Equivalence;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Serializer;
+
+@SuppressWarnings("serial")
+public class EquivalenceSetImpl<T> extends SetImpl<T> {
+
+    private transient Equivalence<? super T> equivalence;
+    private transient Function<T, Object>    key;
+
+    public EquivalenceSetImpl(Equivalence<? super T> equivalence, T[] es) {
+        super((Object) null);
+        init(equivalence);
+        this.value = es.length == 1 ? es[0] : addAll(null, key(), es);
+    }
+
+    protected EquivalenceSetImpl(Equivalence<? super T> equivalence, Object value) {
+        super(value);
+        init(equivalence);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void init(Equivalence<? super T> equivalence) {
+        this.equivalence = equivalence;
+        this.key = (Function) new EquivalentKey(identity(), null, equivalence);
+    }
+
+    @Override
+    protected Function<T, Object> key() {
+        return key;
+    }
+
+    @Override
+    public int hashCode() {
+        return equivalentHash(value, key()) ^ equivalence.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || !getClass().equals(obj.getClass())) {
+            return false;
+        }
+        EquivalenceSetImpl<?> other = (EquivalenceSetImpl<?>) obj;
+        return equivalence.equals(other.equivalence) && equivalent(value, other.value, key());
+    }
+
+    @Override
+    protected SetImpl<T> create(Object val) {
+        return val != value ? new EquivalenceSetImpl<>(equivalence, val) : this;
+    }
+
+    @Override
+    public Set<T> getMerger() {
+        return create(null);
+    }
+
+    @Override
+    public void javaSerialize(Serializer s) {
+        s.writeObject(equivalence);
+        super.javaSerialize(s);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void javaDeserialize(Deserializer s) {
+        init((Equivalence<? super T>) s.readObject());
+        super.javaDeserialize(s);
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        s.writeObject(equivalence);
+        s.writeInt(size());
+        for (T e : this) {
+            s.writeObject(e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "unused"})
+    private static <T> EquivalenceSetImpl<T> deserialize(Deserializer s) {
+        Equivalence<? super T> equivalence = (Equivalence<? super T>) s.readObject();
+        T[] entries = (T[]) s.readArray(new Object[]{});
+        return new EquivalenceSetImpl<>(equivalence, entries);
+    }
+
+}
@@ -18,6 +18,8 @@ package org.modelingvalue.collections.impl;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
@@ -25,6 +27,8 @@ import java.util.function.Function;
 
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.ContainingCollection;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Equivalence;
 import org.modelingvalue.collections.StreamCollection;
 import org.modelingvalue.collections.util.Age;
 import org.modelingvalue.collections.util.Concurrent;
@@ -38,6 +42,9 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
     private static final long                      serialVersionUID             = 3453919290764033219L;
 
     private static final int                       EQUAL_HASHCODE_WARNING_LEVEL = Integer.getInteger("EQUAL_HASHCODE_WARNING_LEVEL", 16);
+    private static final int                       BUILD_SPLIT_MIN              = Integer.getInteger("BUILD_SPLIT_MIN", 4096);
+    private static final int                       SORTED_BUCKET_MIN            = Math.max(3, Integer.getInteger("SORTED_BUCKET_MIN", 8));
+    private static final long                      SORTED                       = 1L;
 
     @SuppressWarnings("rawtypes")
     private static final BiFunction                RETURN_2                     = (v1, v2) -> v1.equals(v2) ? v1 : v2;
@@ -58,10 +65,10 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
 
     private static final int                       PART_SIZE                    = Integer.getInteger("HASH_PARTITION_SIZE", 6);
     private static final int                       PART_REST                    = Integer.SIZE % PART_SIZE == 0 ? 0 : PART_SIZE - Integer.SIZE % PART_SIZE;
-    private static final byte                      NR_OF_PARTS                  = (byte) (Integer.SIZE / PART_SIZE + (PART_REST == 0 ? 0 : 1));
-    private static final int[]                     PART_MASKS                   = new int[NR_OF_PARTS];
+    static final byte                              NR_OF_PARTS                  = (byte) (Integer.SIZE / PART_SIZE + (PART_REST == 0 ? 0 : 1));
+    static final int[]                             PART_MASKS                   = new int[NR_OF_PARTS];
     private static final int[]                     INDEX_MASKS                  = new int[NR_OF_PARTS];
-    private static final int[]                     PART_SHIFTS                  = new int[NR_OF_PARTS];
+    static final int[]                             PART_SHIFTS                  = new int[NR_OF_PARTS];
 
     private static final int                       COMPARE_MAX                  = Integer.getInteger("COMPARE_MAX", ContextThread.POOL_SIZE * 2);
     private static final HashMultiValue            DUMMY                        = new HashMultiValue(new Object[0], 0, 0, (byte) 1, 0, (byte) 0, 0);
@@ -91,7 +98,90 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
 
     @SuppressWarnings({"rawtypes", "unchecked"})
     protected static int index(Object v, Function key) {
-        return v == null ? 0 : v instanceof HashMultiValue ? ((HashMultiValue) v).index : key.apply(v).hashCode();
+        return v == null ? 0 : v instanceof HashMultiValue ? ((HashMultiValue) v).index : keyHash(key, key.apply(v));
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected static int keyHash(Function key, Object k) {
+        return key instanceof EquivalentKey ? ((EquivalentKey) key).equivalence.hash(k) : k.hashCode();
+    }
+
+    /**
+     * Equality of two keys, or of two nodes. Nodes of a trie with an {@link Equivalence} are only equal when they are
+     * the same node, the equals of a node matches elements on their own equals and shares them.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected static boolean keyEquals(Function key, Object k1, Object k2) {
+        if (key instanceof EquivalentKey) {
+            return k1 instanceof HashMultiValue || k2 instanceof HashMultiValue ? k1 == k2 : ((EquivalentKey) key).equivalence.equivalent(k1, k2);
+        } else {
+            return k1.equals(k2);
+        }
+    }
+
+    /**
+     * Equality of two elements with equal keys.
+     */
+    @SuppressWarnings("rawtypes")
+    private static boolean elementEquals(Function key, Object e1, Object e2) {
+        return e1 == e2 || (key instanceof EquivalentKey ? ((EquivalentKey) key).equal(e1, e2) : Objects.equals(e1, e2));
+    }
+
+    /**
+     * Equality of the tries of two collections with the same {@link Equivalence}. Equivalent elements have equal
+     * hashes, so both tries have the same shape and only the order within equal hash buckets can differ. Elements
+     * are matched with the equivalence and nothing is shared between the tries.
+     */
+    @SuppressWarnings("rawtypes")
+    protected static boolean equivalent(Object v1, Object v2, Function key) {
+        if (v1 == v2) {
+            return true;
+        } else if (v1 instanceof HashMultiValue && v2 instanceof HashMultiValue) {
+            HashMultiValue mv1 = (HashMultiValue) v1, mv2 = (HashMultiValue) v2;
+            if (mv1.index != mv2.index || mv1.level != mv2.level || mv1.size != mv2.size || mv1.mask != mv2.mask || mv1.values.length != mv2.values.length) {
+                return false;
+            } else if (mv1.level == NR_OF_PARTS) {
+                outer:
+                for (Object e1 : mv1.values) {
+                    for (Object e2 : mv2.values) {
+                        if (((EquivalentKey) key).equal(e1, e2)) {
+                            continue outer;
+                        }
+                    }
+                    return false;
+                }
+                return true;
+            } else {
+                for (int i = 0; i < mv1.values.length; i++) {
+                    if (!equivalent(mv1.values[i], mv2.values[i], key)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        } else if (v1 == null || v2 == null || v1 instanceof HashMultiValue || v2 instanceof HashMultiValue) {
+            return false;
+        } else {
+            return ((EquivalentKey) key).equal(v1, v2);
+        }
+    }
+
+    /**
+     * The hash of the trie of a collection with an {@link Equivalence}, the sum of the element hashes of the
+     * equivalence. Unlike the hash cached in the nodes, which uses the own hashCode of the elements, it is computed
+     * on every call.
+     */
+    @SuppressWarnings("rawtypes")
+    protected static int equivalentHash(Object v, Function key) {
+        if (v instanceof HashMultiValue) {
+            int hash = 0;
+            for (Object e : ((HashMultiValue) v).values) {
+                hash += equivalentHash(e, key);
+            }
+            return hash;
+        } else {
+            return v == null ? 0 : ((EquivalentKey) key).hash(v);
+        }
     }
 
     protected static byte level(Object v) {
@@ -121,6 +211,49 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
 
     protected abstract Function<T, Object> key();
 
+    /**
+     * A key function that hashes and compares the keys it returns with an {@link Equivalence}. Elements with
+     * equivalent keys are equal when their values, if any, are equal.
+     */
+    @SuppressWarnings("rawtypes")
+    protected static final class EquivalentKey implements Function<Object, Object> {
+        private final Function    key;
+        private final Function    value;
+        private final Equivalence equivalence;
+
+        protected EquivalentKey(Function key, Function value, Equivalence equivalence) {
+            this.key = key;
+            this.value = value;
+            this.equivalence = equivalence;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Object apply(Object t) {
+            return key.apply(t);
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean equal(Object e1, Object e2) {
+            return equivalence.equivalent(key.apply(e1), key.apply(e2)) && (value == null || Objects.equals(value.apply(e1), value.apply(e2)));
+        }
+
+        @SuppressWarnings("unchecked")
+        private int hash(Object e) {
+            return equivalence.hash(key.apply(e)) * 31 + (value == null ? 0 : Objects.hashCode(value.apply(e)));
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ equivalence.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof EquivalentKey && ((EquivalentKey) obj).key == key && ((EquivalentKey) obj).equivalence.equals(equivalence);
+        }
+    }
+
     protected static final class DistinctCollectionSpliterator<T> extends CollectionSpliterator<T> {
 
         private static final int DISTINCT_CHARACTERISTICS = Spliterator.DISTINCT | CHARACTERISTICS;
@@ -141,7 +274,7 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
 
     }
 
-    private static final class HashMultiValue extends MultiValue {
+    private static class HashMultiValue extends MultiValue {
         private static final long serialVersionUID = 3238646981697101095L;
         private final int         index;
         private final byte        level;
@@ -151,7 +284,7 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
             super(values, size, hash, depth);
             this.index = index;
             this.level = level;
-            this.mask = level < NR_OF_PARTS ? mask : 0;
+            this.mask = level < NR_OF_PARTS ? mask : mask & SORTED;
         }
 
         @Override
@@ -171,7 +304,7 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
             HashMultiValue other = (HashMultiValue) obj;
             if (hash != other.hash || index != other.index || level != other.level || size != other.size || depth != other.depth || mask != other.mask) {
                 return false;
-            } else if (level == NR_OF_PARTS) {
+            } else if (level == NR_OF_PARTS && mask != SORTED) {
                 outer:
                 for (int ia = 0; ia < values.length; ia++) {
                     for (int ib = 0; ib < values.length; ib++) {
@@ -250,41 +383,38 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
         }
 
         private static HashMultiValue of(Object v1, Object v2, int index) {
-            return new HashMultiValue(new Object[]{v1, v2}, 2, index * 2, (byte) 2, index, NR_OF_PARTS, 3);
+            return bucket(new Object[]{v1, v2}, index, 0L);
         }
 
-        @SuppressWarnings({"unchecked", "rawtypes"})
+        @SuppressWarnings("rawtypes")
         private Object set(Function key, Object find, Object set) {
             assert (level == NR_OF_PARTS);
-            int si = values.length;
-            for (int i = 0; i < values.length; i++) {
-                if (key.apply(values[i]).equals(find)) {
-                    si = i;
-                    break;
-                }
-            }
+            int si = search(this, key, find);
+            Object[] result;
             if (set == null) {
-                if (si == values.length) {
+                if (si < 0) {
                     return this;
                 } else if (values.length == 2) {
-                    return si == 0 ? values[1] : values[0];
+                    return values[1 - si];
                 } else {
-                    Object[] result = new Object[values.length - 1];
+                    result = new Object[values.length - 1];
                     System.arraycopy(values, 0, result, 0, si);
                     System.arraycopy(values, si + 1, result, si, values.length - si - 1);
-                    return new HashMultiValue(result, result.length, hash - index, (byte) 2, index, NR_OF_PARTS, mask & ~(1L << values.length));
+                    return bucket(result, index, bucketMask(this, key, result, -1));
                 }
-            } else if (si != values.length && values[si].equals(set)) {
+            } else if (si >= 0 && values[si].equals(set)) {
                 return this;
+            } else if (si >= 0) {
+                result = Arrays.copyOf(values, values.length);
+                result[si] = set;
+                return bucket(result, index, mask);
             } else {
-                Object[] result = new Object[si == values.length ? values.length + 1 : values.length];
-                System.arraycopy(values, 0, result, 0, values.length);
+                si = -si - 1;
+                result = new Object[values.length + 1];
+                System.arraycopy(values, 0, result, 0, si);
+                System.arraycopy(values, si, result, si + 1, values.length - si);
                 result[si] = set;
-                if (result.length > EQUAL_HASHCODE_WARNING_LEVEL) {
-                    System.err.println("WARNING: " + result.length + " non equal objects with equal hashcode " + //
-                            StringUtil.toString(Arrays.copyOf(result, EQUAL_HASHCODE_WARNING_LEVEL)));
-                }
-                return new HashMultiValue(result, result.length, result.length * index, (byte) 2, index, NR_OF_PARTS, si == values.length ? mask | 1L << si : mask);
+                return bucket(result, index, bucketMask(this, key, result, si));
             }
         }
 
@@ -318,40 +448,382 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
         }
     }
 
+    private static final class OwnedHashMultiValue extends HashMultiValue {
+        private static final long serialVersionUID = -4526170244183850436L;
+        private final transient Object owner;
+
+        private OwnedHashMultiValue(Object owner, Object[] values, int size, int hash, byte depth, int index, byte level, long mask) {
+            super(values, size, hash, depth, index, level, mask);
+            this.owner = owner;
+        }
+    }
+
     public Object checkHashIntegrity() {
         return value instanceof HashMultiValue ? ((HashMultiValue) value).checkHashIntegrity(key()) : null;
     }
 
+    private static HashMultiValue bucket(Object[] values, int index, long mask) {
+        return new HashMultiValue(values, values.length, values.length * index, (byte) 2, index, NR_OF_PARTS, mask);
+    }
+
+    /**
+     * Returns the position of the element with key {@code find} in an equal hash bucket, or {@code -(insertion point) - 1}
+     * if it is not there. Sorted buckets are searched binary, all others linear.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static int search(HashMultiValue mv, Function key, Object find) {
+        Object[] values = mv.values;
+        if (mv.mask == SORTED && key.apply(values[0]).getClass() == find.getClass()) {
+            int lo = 0, hi = values.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                Object k = key.apply(values[mid]);
+                int c = ((Comparable) k).compareTo(find);
+                if (c < 0) {
+                    lo = mid + 1;
+                } else if (c > 0) {
+                    hi = mid - 1;
+                } else if (k.equals(find)) {
+                    return mid;
+                } else {
+                    break;
+                }
+            }
+            if (lo > hi) {
+                return -lo - 1;
+            }
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (keyEquals(key, key.apply(values[i]), find)) {
+                return i;
+            }
+        }
+        return -values.length - 1;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static int indexOf(Object v, Function key, Object find) {
+        if (v == null) {
+            return -1;
+        } else if (v instanceof HashMultiValue) {
+            return search((HashMultiValue) v, key, find);
+        } else {
+            return keyEquals(key, key.apply(v), find) ? 0 : -1;
+        }
+    }
+
+    /**
+     * The mask of a bucket with {@code values} that differs from bucket {@code mv} by one element, inserted at
+     * position {@code inserted} or removed if {@code inserted} is negative. A sorted bucket stays sorted without a
+     * full check if the inserted key fits between its neighbours.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static long bucketMask(HashMultiValue mv, Function key, Object[] values, int inserted) {
+        if (mv.mask == SORTED && values.length >= SORTED_BUCKET_MIN) {
+            if (inserted < 0) {
+                return SORTED;
+            }
+            Object k = key.apply(values[inserted]);
+            Object n = key.apply(values[inserted == 0 ? 1 : inserted - 1]);
+            if (k.getClass() == n.getClass() && (inserted == 0 || ((Comparable) n).compareTo(k) < 0) && //
+                    (inserted == values.length - 1 || ((Comparable) k).compareTo(key.apply(values[inserted + 1])) < 0)) {
+                return SORTED;
+            }
+        }
+        return sort(values, key);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static long sort(Object[] values, Function key) {
+        if (values.length < SORTED_BUCKET_MIN) {
+            return 0L;
+        }
+        Object[] keys = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = key.apply(values[i]);
+        }
+        return sort(values, keys, key);
+    }
+
+    /**
+     * Sorts the values of an equal hash bucket on their keys if the bucket is large enough and all keys are strictly
+     * ordered {@link Comparable} instances of one class. The order is computed first and only applied when it is
+     * strict, a bucket with compareTo ties keeps its order. Which buckets are sorted only depends on their content,
+     * so equal collections have equal buckets.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static long sort(Object[] values, Object[] keys, Function key) {
+        int len = values.length, i = 1;
+        if (len >= SORTED_BUCKET_MIN && keys[0] instanceof Comparable && !(key instanceof EquivalentKey)) {
+            Class<?> cls = keys[0].getClass();
+            boolean ordered = true;
+            for (; i < len && keys[i] != null && keys[i].getClass() == cls; i++) {
+                ordered &= ((Comparable) keys[i - 1]).compareTo(keys[i]) < 0;
+            }
+            if (i == len && !ordered) {
+                Integer[] order = new Integer[len];
+                for (i = 0; i < len; i++) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, (a, b) -> ((Comparable) keys[a]).compareTo(keys[b]));
+                ordered = true;
+                for (i = 1; ordered && i < len; i++) {
+                    ordered = ((Comparable) keys[order[i - 1]]).compareTo(keys[order[i]]) < 0;
+                }
+                if (ordered) {
+                    Object[] vs = Arrays.copyOf(values, len), ks = Arrays.copyOf(keys, len);
+                    for (i = 0; i < len; i++) {
+                        values[i] = vs[order[i]];
+                        keys[i] = ks[order[i]];
+                    }
+                }
+            }
+            if (i == len && ordered) {
+                return SORTED;
+            }
+        }
+        if (len > EQUAL_HASHCODE_WARNING_LEVEL) {
+            System.err.println("WARNING: " + len + " non equal objects with equal hashcode " + //
+                    StringUtil.toString(Arrays.copyOf(values, EQUAL_HASHCODE_WARNING_LEVEL)));
+        }
+        return 0L;
+    }
+
     private static int getIt(long mask, int idx) {
         return (mask & 1L << idx) == 0 ? -1 : idx == 0 ? 0 : Long.bitCount(mask << (Long.SIZE - idx));
     }
 
     protected static <T> Object addAll(Object value, Function<T, Object> key, T[] adds) {
-        for (T added : adds) {
-            value = add(value, key, added, key);
-        }
-        return value;
+        Object[] array = nonNull(adds);
+        Object built = build(key, array, array.length, RETURN_1);
+        return value == null ? built : add(value, key, built, key);
     }
 
     protected static <T> Object addAll(Object value, Function<T, Object> key, java.util.Collection<? extends T> adds) {
-        for (T added : adds) {
-            value = add(value, key, added, key);
-        }
-        return value;
+        Object[] array = nonNull(adds.toArray());
+        Object built = build(key, array, array.length, RETURN_1);
+        return value == null ? built : add(value, key, built, key);
     }
 
     protected static <T> Object putAll(Object value, Function<T, Object> key, T[] adds) {
-        for (T added : adds) {
-            value = put(value, key, added, key);
-        }
-        return value;
+        Object[] array = nonNull(adds);
+        Object built = build(key, array, array.length, RETURN_2);
+        return value == null ? built : put(value, key, built, key);
     }
 
     protected static <T> Object putAll(Object value, Function<T, Object> key, java.util.Collection<? extends T> adds) {
-        for (T added : adds) {
-            value = put(value, key, added, key);
+        Object[] array = nonNull(adds.toArray());
+        Object built = build(key, array, array.length, RETURN_2);
+        return value == null ? built : put(value, key, built, key);
+    }
+
+    /**
+     * Returns {@code adds} itself when it contains no nulls, otherwise a copy without them, because adding or putting
+     * a null one by one is a no-op.
+     */
+    private static Object[] nonNull(Object[] adds) {
+        int i = 0;
+        while (i < adds.length && adds[i] != null) {
+            i++;
+        }
+        if (i == adds.length) {
+            return adds;
+        }
+        Object[] result = new Object[adds.length - 1];
+        System.arraycopy(adds, 0, result, 0, i);
+        int len = i;
+        for (i++; i < adds.length; i++) {
+            if (adds[i] != null) {
+                result[len++] = adds[i];
+            }
+        }
+        return len == result.length ? result : Arrays.copyOf(result, len);
+    }
+
+    /**
+     * Builds the trie for the first {@code length} elements of {@code adds} bottom-up. The elements are sorted on
+     * their (unsigned) hash, which is exactly the order of the leaves in the trie, so every node can be allocated
+     * once with its final content. The result is identical to adding the elements one by one: elements with equal
+     * keys are resolved with {@code set12} (old, new) and elements with equal hashes end up in the same bucket order.
+     */
+    @SuppressWarnings("rawtypes")
+    protected static Object build(Function key, Object[] adds, int length, BiFunction set12) {
+        if (length == 0) {
+            return null;
+        } else if (length == 1) {
+            return adds[0];
+        }
+        long[] sorted = new long[length];
+        for (int i = 0; i < length; i++) {
+            sorted[i] = (long) (index(adds[i], key) ^ Integer.MIN_VALUE) << Integer.SIZE | i;
+        }
+        if (length >= BUILD_SPLIT_MIN && split(length)) {
+            return buildParallel(key, adds, sorted, set12);
+        }
+        return build(key, adds, sorted, 0, length, set12);
+    }
+
+    /**
+     * Partitions the elements on the first part of their hash and builds the sub-trie of every partition in a
+     * separate fork-join task on the pool of the current {@link ContextThread}.
+     */
+    @SuppressWarnings("rawtypes")
+    private static Object buildParallel(Function key, Object[] adds, long[] sorted, BiFunction set12) {
+        int part = PART_MASKS[0], shift = PART_SHIFTS[0];
+        int[] starts = new int[(part >>> shift) + 3];
+        for (long l : sorted) {
+            starts[partition(l, part, shift) + 2]++;
+        }
+        for (int i = 2; i < starts.length; i++) {
+            starts[i] += starts[i - 1];
+        }
+        long[] partitioned = new long[sorted.length];
+        for (long l : sorted) {
+            partitioned[starts[partition(l, part, shift) + 1]++] = l;
+        }
+        Object[] ctx = ContextThread.getContext();
+        BuildTask[] tasks = new BuildTask[starts.length - 2];
+        int len = 0;
+        long mask = 0L;
+        for (int i = 0, from = 0; from < partitioned.length; i++) {
+            int to = starts[i + 1];
+            if (to > from) {
+                tasks[len++] = new BuildTask(ctx, key, adds, partitioned, from, to, set12);
+                mask |= 1L << i;
+            }
+            from = to;
+        }
+        tasks = Arrays.copyOf(tasks, len);
+        ForkJoinTask.invokeAll(tasks);
+        if (len == 1) {
+            return tasks[0].join();
+        }
+        Object[] result = new Object[len];
+        int hash = 0, size = 0;
+        byte depth = 0;
+        for (int i = 0; i < len; i++) {
+            Object e = tasks[i].join();
+            result[i] = e;
+            hash += hash(e);
+            size += size(e);
+            depth = max(depth, depth(e));
+        }
+        return new HashMultiValue(result, size, hash, (byte) (depth + 1), 0, (byte) 0, mask);
+    }
+
+    private static int partition(long sorted, int part, int shift) {
+        return (((int) (sorted >>> Integer.SIZE) ^ Integer.MIN_VALUE) & part) >>> shift;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Object build(Function key, Object[] adds, long[] sorted, int from, int to, BiFunction set12) {
+        Arrays.sort(sorted, from, to);
+        Object[] values = new Object[to - from];
+        int[] ids = new int[to - from];
+        int len = 0;
+        for (int f = from, t; f < to; f = t) {
+            int id = (int) (sorted[f] >>> Integer.SIZE) ^ Integer.MIN_VALUE;
+            t = f + 1;
+            while (t < to && (int) (sorted[t] >>> Integer.SIZE) == (int) (sorted[f] >>> Integer.SIZE)) {
+                t++;
+            }
+            int start = len;
+            java.util.Map<Object, Integer> positions = t - f >= SORTED_BUCKET_MIN && !(key instanceof EquivalentKey) ? new java.util.HashMap<>() : null;
+            next:
+            for (int i = f; i < t; i++) {
+                Object e = adds[(int) sorted[i]];
+                if (positions != null) {
+                    Integer p = positions.putIfAbsent(key.apply(e), len);
+                    if (p != null) {
+                        values[p] = set12.apply(values[p], e);
+                        continue;
+                    }
+                } else if (t - f > 1) {
+                    Object k = key.apply(e);
+                    for (int ii = start; ii < len; ii++) {
+                        if (keyEquals(key, key.apply(values[ii]), k)) {
+                            values[ii] = set12.apply(values[ii], e);
+                            continue next;
+                        }
+                    }
+                }
+                values[len] = e;
+                ids[len++] = id;
+            }
         }
-        return value;
+        return build(key, values, ids, 0, len, (byte) 0, 0);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class BuildTask extends RecursiveTask<Object> {
+        private static final long serialVersionUID = 2318571542097283504L;
+
+        private final Object[]    ctx;
+        private final Function    key;
+        private final Object[]    adds;
+        private final long[]      sorted;
+        private final int         from;
+        private final int         to;
+        private final BiFunction  set12;
+
+        private BuildTask(Object[] ctx, Function key, Object[] adds, long[] sorted, int from, int to, BiFunction set12) {
+            this.ctx = ctx;
+            this.key = key;
+            this.adds = adds;
+            this.sorted = sorted;
+            this.from = from;
+            this.to = to;
+            this.set12 = set12;
+        }
+
+        @Override
+        protected Object compute() {
+            Object[] old = ContextThread.setIncrement(ctx);
+            try {
+                return to - from == 1 ? adds[(int) sorted[from]] : build(key, adds, sorted, from, to, set12);
+            } finally {
+                ContextThread.setDecrement(old);
+            }
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Object build(Function key, Object[] values, int[] ids, int from, int to, byte lev, int idx) {
+        if (to - from == 1) {
+            return values[from];
+        }
+        int first = ids[from], last = ids[to - 1];
+        for (; lev < NR_OF_PARTS && (first & PART_MASKS[lev]) == (last & PART_MASKS[lev]); lev++) {
+            idx |= first & PART_MASKS[lev];
+        }
+        if (lev == NR_OF_PARTS) {
+            Object[] result = Arrays.copyOfRange(values, from, to);
+            return bucket(result, idx, sort(result, key));
+        }
+        int part = PART_MASKS[lev], shift = PART_SHIFTS[lev], len = 1;
+        for (int i = from + 1; i < to; i++) {
+            if ((ids[i] & part) != (ids[i - 1] & part)) {
+                len++;
+            }
+        }
+        Object[] result = new Object[len];
+        int hash = 0, size = 0;
+        byte depth = 0;
+        long mask = 0L;
+        for (int i = from, ii, r = 0; i < to; i = ii) {
+            int p = ids[i] & part;
+            ii = i + 1;
+            while (ii < to && (ids[ii] & part) == p) {
+                ii++;
+            }
+            Object e = build(key, values, ids, i, ii, (byte) (lev + 1), idx | p);
+            result[r++] = e;
+            hash += hash(e);
+            size += size(e);
+            depth = max(depth, depth(e));
+            mask |= 1L << (p >>> shift);
+        }
+        return new HashMultiValue(result, size, hash, (byte) (depth + 1), idx, lev, mask);
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -359,19 +831,14 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
         if (v == null) {
             return null;
         } else {
-            int id = find.hashCode(), it;
+            int id = keyHash(key, find), it;
             byte level = -1;
             while (v instanceof HashMultiValue) {
                 HashMultiValue mv = (HashMultiValue) v;
                 if (mv.level == level + 1 || (id & INDEX_MASKS[mv.level - 1]) == mv.index) {
                     if (mv.level == NR_OF_PARTS) {
-                        for (it = 0; it < mv.values.length; it++) {
-                            v = mv.values[it];
-                            if (key.apply(v).equals(find)) {
-                                return (T) v;
-                            }
-                        }
-                        return null;
+                        it = search(mv, key, find);
+                        return it >= 0 ? (T) mv.values[it] : null;
                     } else {
                         it = getIt(mv.mask, (id & PART_MASKS[mv.level]) >>> PART_SHIFTS[mv.level]);
                         if (it >= 0) {
@@ -385,10 +852,66 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                     return null;
                 }
             }
-            return key.apply(v).equals(find) ? (T) v : null;
+            return keyEquals(key, key.apply(v), find) ? (T) v : null;
         }
     }
 
+    /**
+     * Looks up all finds in one descent of the trie. The finds are ordered by hash, which is the order of the trie,
+     * so every node on the path of the batch is visited only once. For every find the found element, mapped by
+     * result, or null is written into out at the same position. Returns the number of finds that were found. The
+     * finds are ordered in the first finds.length slots of ids, nothing else is allocated.
+     */
+    @SuppressWarnings("rawtypes")
+    protected static int getAll(Object v, Function key, Object[] finds, Object[] out, Function result, long[] ids) {
+        if (ids.length < finds.length) {
+            throw new IllegalArgumentException("scratch array of length " + ids.length + " for " + finds.length + " keys");
+        }
+        for (int i = 0; i < finds.length; i++) {
+            ids[i] = (long) (keyHash(key, finds[i]) ^ Integer.MIN_VALUE) << Integer.SIZE | i;
+        }
+        Arrays.sort(ids, 0, finds.length);
+        return getAll(v, key, (byte) 0, finds, ids, 0, finds.length, out, result);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static int getAll(Object v, Function key, byte level, Object[] finds, long[] ids, int from, int to, Object[] out, Function result) {
+        int found = 0;
+        if (v instanceof HashMultiValue) {
+            HashMultiValue mv = (HashMultiValue) v;
+            int group = INDEX_MASKS[Math.min(mv.level, NR_OF_PARTS - 1)];
+            for (int i = from, ii; i < to; i = ii) {
+                int id = id(ids[i]);
+                for (ii = i + 1; ii < to && (id(ids[ii]) & group) == (id & group); ii++) {
+                }
+                if (mv.level != level && (id & INDEX_MASKS[mv.level - 1]) != mv.index) {
+                    found += getAll(null, key, level, finds, ids, i, ii, out, result);
+                } else if (mv.level == NR_OF_PARTS) {
+                    for (int f = i; f < ii; f++) {
+                        int it = search(mv, key, finds[(int) ids[f]]);
+                        out[(int) ids[f]] = it >= 0 ? result.apply(mv.values[it]) : null;
+                        found += it >= 0 ? 1 : 0;
+                    }
+                } else {
+                    int it = getIt(mv.mask, (id & PART_MASKS[mv.level]) >>> PART_SHIFTS[mv.level]);
+                    found += getAll(it >= 0 ? mv.values[it] : null, key, (byte) (mv.level + 1), finds, ids, i, ii, out, result);
+                }
+            }
+        } else {
+            Object k = v != null ? key.apply(v) : null;
+            for (int f = from; f < to; f++) {
+                boolean equal = v != null && keyEquals(key, k, finds[(int) ids[f]]);
+                out[(int) ids[f]] = equal ? result.apply(v) : null;
+                found += equal ? 1 : 0;
+            }
+        }
+        return found;
+    }
+
+    private static int id(long id) {
+        return (int) (id >>> Integer.SIZE) ^ Integer.MIN_VALUE;
+    }
+
     @SuppressWarnings("rawtypes")
     protected static Object set(Object val1, Function key1, Function set1, Object val2, Function key2, Function set2, BiFunction set12) {
         return set(val1, key1, index(val1, key1), set1, val2, key2, index(val2, key2), set2, (byte) 0, 0, set12, false);
@@ -413,7 +936,7 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                     idx |= i1;
                 }
             }
-            if (i2 == i1 && key(val1, key1).equals(key(val2, key2))) {
+            if (i2 == i1 && keyEquals(key1, key(val1, key1), key(val2, key2))) {
                 return flip ? set12.apply(val2, val1) : set12.apply(val1, val2);
             } else if (lev == NR_OF_PARTS) {
                 return setEqualHashes(val1, key1, set1, val2, key2, set2, idx, set12, flip);
@@ -599,68 +1122,57 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
     @SuppressWarnings({"unchecked", "rawtypes"})
     private static Object setEqualHashes(Object val1, Function key1, Function set1, Object val2, Function key2, Function set2, int idx, BiFunction set12, boolean flip) {
         int len1 = length(val1), len2 = length(val2);
-        if (len1 + len2 > 2) {
+        if (len1 > 2 && len2 == 1 && set1 == identity()) {
+            return setEqualHashesOne((HashMultiValue) val1, key1, val2, key2, set2, idx, set12, flip);
+        } else if (len1 + len2 > 2) {
             Object e1, k1, e2, k2, e;
-            Object[] result = null;
+            Object[] result = null, keys = null;
             int len = 0, i1, i2;
             boolean eq1 = true, eq2 = true;
-            next1:
             for (i1 = 0; i1 < len1; i1++) {
                 e1 = get(val1, i1);
                 k1 = key1.apply(e1);
-                for (i2 = 0; i2 < len2; i2++) {
+                i2 = indexOf(val2, key2, k1);
+                if (i2 >= 0) {
                     e2 = get(val2, i2);
-                    k2 = key2.apply(e2);
-                    if (k1.equals(k2)) {
-                        e = flip ? set12.apply(e2, e1) : set12.apply(e1, e2);
-                        if (e != e1) {
-                            eq1 = false;
-                        }
-                        if (e != e2) {
-                            eq2 = false;
-                        }
-                        if (e != null) {
-                            if (result == null) {
-                                result = new Object[len1 + len2];
-                            }
-                            result[len++] = e;
-                        }
-                        continue next1;
+                    e = flip ? set12.apply(e2, e1) : set12.apply(e1, e2);
+                    if (e != e2) {
+                        eq2 = false;
                     }
+                } else {
+                    e = set1.apply(e1);
+                    eq2 = false;
                 }
-                e = set1.apply(e1);
                 if (e != e1) {
                     eq1 = false;
                 }
-                eq2 = false;
                 if (e != null) {
                     if (result == null) {
                         result = new Object[len1 + len2];
+                        keys = new Object[len1 + len2];
                     }
+                    keys[len] = k1;
                     result[len++] = e;
                 }
             }
             if (set2 != nullFunction()) {
-                next2:
                 for (i2 = 0; i2 < len2; i2++) {
                     e2 = get(val2, i2);
                     k2 = key2.apply(e2);
-                    for (i1 = 0; i1 < len1; i1++) {
-                        k1 = key1.apply(get(val1, i1));
-                        if (k1.equals(k2)) {
-                            continue next2;
+                    if (indexOf(val1, key1, k2) < 0) {
+                        e = set2.apply(e2);
+                        eq1 = false;
+                        if (e != e2) {
+                            eq2 = false;
                         }
-                    }
-                    e = set2.apply(e2);
-                    eq1 = false;
-                    if (e != e2) {
-                        eq2 = false;
-                    }
-                    if (e != null) {
-                        if (result == null) {
-                            result = new Object[len1 + len2];
+                        if (e != null) {
+                            if (result == null) {
+                                result = new Object[len1 + len2];
+                                keys = new Object[len1 + len2];
+                            }
+                            keys[len] = k2;
+                            result[len++] = e;
                         }
-                        result[len++] = e;
                     }
                 }
             }
@@ -674,11 +1186,8 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                 return val2;
             } else {
                 result = len == result.length ? result : Arrays.copyOf(result, len);
-                if (len > EQUAL_HASHCODE_WARNING_LEVEL) {
-                    System.err.println("WARNING: " + len + " non equal objects with equal hashcode " + //
-                            StringUtil.toString(Arrays.copyOf(result, EQUAL_HASHCODE_WARNING_LEVEL)));
-                }
-                return new HashMultiValue(result, len, len * idx, (byte) 2, idx, NR_OF_PARTS, 0);
+                keys = len == keys.length ? keys : Arrays.copyOf(keys, len);
+                return bucket(result, idx, sort(result, keys, key1));
             }
         } else {
             val1 = set1.apply(val1);
@@ -693,6 +1202,38 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
         }
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object setEqualHashesOne(HashMultiValue mv1, Function key1, Object val2, Function key2, Function set2, int idx, BiFunction set12, boolean flip) {
+        Object[] values = mv1.values, result;
+        int si = search(mv1, key1, key2.apply(val2));
+        if (si >= 0) {
+            Object e1 = values[si];
+            Object e = flip ? set12.apply(val2, e1) : set12.apply(e1, val2);
+            if (e == e1) {
+                return mv1;
+            } else if (e != null) {
+                result = Arrays.copyOf(values, values.length);
+                result[si] = e;
+                return bucket(result, idx, mv1.mask);
+            }
+            result = new Object[values.length - 1];
+            System.arraycopy(values, 0, result, 0, si);
+            System.arraycopy(values, si + 1, result, si, result.length - si);
+            return bucket(result, idx, bucketMask(mv1, key1, result, -1));
+        } else {
+            Object e = set2.apply(val2);
+            if (e == null) {
+                return mv1;
+            }
+            si = -si - 1;
+            result = new Object[values.length + 1];
+            System.arraycopy(values, 0, result, 0, si);
+            System.arraycopy(values, si, result, si + 1, values.length - si);
+            result[si] = e;
+            return bucket(result, idx, bucketMask(mv1, key1, result, si));
+        }
+    }
+
     protected static <T1, T2> Object add(Object value, Function<T1, Object> key1, Object added, Function<T2, Object> key2) {
         return set(value, key1, identity(), added, key2, identity(), RETURN_1);
     }
@@ -728,11 +1269,195 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
         return set(value, key1, identity(), merged, key2, nullFunction(), merger);
     }
 
+    /**
+     * Puts {@code val} under {@code key} in a trie of entries in one walk. The entry is only created when {@code key}
+     * is absent or mapped to an unequal value, an unchanged put returns {@code value} itself.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected static Object putValue(Object value, Function key1, Object key, Function key2, Object val) {
+        return set(value, key1, identity(), key, key2, k -> Entry.of(k, val), (e, k) -> Objects.equals(((Entry) e).getValue(), val) ? e : Entry.of(k, val));
+    }
+
+    /**
+     * Removes {@code val} under {@code key} with {@code merger} in a trie of entries in one walk. The entry to merge
+     * with is only created when {@code key} is present, otherwise {@code value} itself is returned.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected static Object removeValue(Object value, Function key1, Object key, Function key2, Object val, BinaryOperator merger) {
+        return set(value, key1, identity(), key, key2, nullFunction(), (e, k) -> merger.apply(e, Entry.of(k, val)));
+    }
+
+    protected static <T> Object addOwned(Object owner, Object value, Function<T, Object> key, T added) {
+        return added == null ? value : edit(owner, value, key, added, key.apply(added), RETURN_1);
+    }
+
+    protected static <T> Object putOwned(Object owner, Object value, Function<T, Object> key, T put) {
+        return put == null ? value : edit(owner, value, key, put, key.apply(put), RETURN_2);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected static Object putValueOwned(Object owner, Object value, Function key, Object k, Object val) {
+        return edit(owner, value, key, Entry.of(k, val), k, (e, n) -> Objects.equals(((Entry) e).getValue(), val) ? e : n);
+    }
+
+    protected static <T> Object removeOwned(Object owner, Object value, Function<T, Object> key, Object removed) {
+        return removed == null ? value : edit(owner, value, key, null, removed, RETURN_NULL);
+    }
+
+    /**
+     * Sets (or removes when {@code e} is {@code null}) one element with key {@code k}. The arrays of nodes owned by
+     * {@code owner} are updated in place, all other arrays are copied into new nodes owned by {@code owner}. The
+     * resulting tree is identical to the one {@link #set(Object, Function, Function, Object, Function, Function, BiFunction)}
+     * produces.
+     */
+    @SuppressWarnings("rawtypes")
+    private static Object edit(Object owner, Object value, Function key, Object e, Object k, BiFunction set12) {
+        return edit(owner, value, key, e, k, keyHash(key, k), set12, (byte) 0, 0);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Object edit(Object owner, Object v, Function key, Object e, Object k, int id, BiFunction set12, byte lev, int idx) {
+        if (v == null) {
+            return e;
+        } else if (!(v instanceof HashMultiValue)) {
+            if (keyEquals(key, key.apply(v), k)) {
+                return e == null ? null : set12.apply(v, e);
+            } else if (e == null) {
+                return v;
+            } else if (index(v, key) == id) {
+                return owned(owner, new Object[]{v, e}, 2, id * 2, (byte) 2, id, NR_OF_PARTS, 0L);
+            } else {
+                return diverge(owner, v, index(v, key), e, id, lev, idx);
+            }
+        }
+        HashMultiValue mv = (HashMultiValue) v;
+        if (mv.level == NR_OF_PARTS) {
+            if (mv.index == id) {
+                return editEqualHashes(owner, mv, key, e, k, set12);
+            } else {
+                return e == null ? v : diverge(owner, v, mv.index, e, id, lev, idx);
+            }
+        } else if (mv.level > 0 && (id & INDEX_MASKS[mv.level - 1]) != mv.index) {
+            return e == null ? v : diverge(owner, v, mv.index, e, id, lev, idx);
+        }
+        int p = id & PART_MASKS[mv.level], i = p >>> PART_SHIFTS[mv.level], it = getIt(mv.mask, i);
+        if (it < 0) {
+            if (e == null) {
+                return v;
+            }
+            int pos = Long.bitCount(mv.mask & ((1L << i) - 1));
+            Object[] result = new Object[mv.values.length + 1];
+            System.arraycopy(mv.values, 0, result, 0, pos);
+            System.arraycopy(mv.values, pos, result, pos + 1, mv.values.length - pos);
+            result[pos] = e;
+            return update(owner, mv, result, mv.size + size(e), mv.hash + hash(e), max(mv.depth, (byte) (depth(e) + 1)), mv.mask | 1L << i);
+        }
+        Object old = mv.values[it];
+        int oldSize = size(old), oldHash = hash(old);
+        byte oldDepth = depth(old);
+        Object niw = edit(owner, old, key, e, k, id, set12, (byte) (mv.level + 1), mv.index | p);
+        if (niw == old) {
+            return v;
+        } else if (niw == null && mv.values.length == 2) {
+            return mv.values[1 - it];
+        }
+        Object[] result;
+        if (niw == null) {
+            result = new Object[mv.values.length - 1];
+            System.arraycopy(mv.values, 0, result, 0, it);
+            System.arraycopy(mv.values, it + 1, result, it, result.length - it);
+        } else if (isOwned(owner, mv)) {
+            result = mv.values;
+            result[it] = niw;
+        } else {
+            result = Arrays.copyOf(mv.values, mv.values.length);
+            result[it] = niw;
+        }
+        byte depth = mv.depth;
+        if (depth(niw) + 1 > depth) {
+            depth = (byte) (depth(niw) + 1);
+        } else if (oldDepth + 1 == depth && depth(niw) < oldDepth) {
+            depth = 0;
+            for (Object r : result) {
+                depth = max(depth, depth(r));
+            }
+            depth++;
+        }
+        return update(owner, mv, result, mv.size + size(niw) - oldSize, mv.hash + hash(niw) - oldHash, depth, niw == null ? mv.mask & ~(1L << i) : mv.mask);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Object editEqualHashes(Object owner, HashMultiValue mv, Function key, Object e, Object k, BiFunction set12) {
+        int si = search(mv, key, k);
+        Object[] result;
+        long mask;
+        if (e == null) {
+            if (si < 0) {
+                return mv;
+            } else if (mv.values.length == 2) {
+                return mv.values[1 - si];
+            }
+            result = new Object[mv.values.length - 1];
+            System.arraycopy(mv.values, 0, result, 0, si);
+            System.arraycopy(mv.values, si + 1, result, si, result.length - si);
+            mask = bucketMask(mv, key, result, -1);
+        } else if (si >= 0) {
+            Object r = set12.apply(mv.values[si], e);
+            if (r == mv.values[si]) {
+                return mv;
+            }
+            result = isOwned(owner, mv) ? mv.values : Arrays.copyOf(mv.values, mv.values.length);
+            result[si] = r;
+            mask = mv.mask;
+        } else {
+            si = -si - 1;
+            result = new Object[mv.values.length + 1];
+            System.arraycopy(mv.values, 0, result, 0, si);
+            System.arraycopy(mv.values, si, result, si + 1, mv.values.length - si);
+            result[si] = e;
+            mask = bucketMask(mv, key, result, si);
+        }
+        return update(owner, mv, result, result.length, result.length * mv.index, (byte) 2, mask);
+    }
+
+    private static Object diverge(Object owner, Object v, int vid, Object e, int id, byte lev, int idx) {
+        int i1 = 0, i2 = 0;
+        for (; lev < NR_OF_PARTS; lev++) {
+            i1 = vid & PART_MASKS[lev];
+            i2 = id & PART_MASKS[lev];
+            if (i1 != i2) {
+                break;
+            }
+            idx |= i1;
+        }
+        i1 >>>= PART_SHIFTS[lev];
+        i2 >>>= PART_SHIFTS[lev];
+        Object[] values = i1 < i2 ? new Object[]{v, e} : new Object[]{e, v};
+        return owned(owner, values, size(v) + size(e), hash(v) + hash(e), (byte) (max(depth(v), depth(e)) + 1), idx, lev, 1L << i1 | 1L << i2);
+    }
+
+    private static boolean isOwned(Object owner, HashMultiValue mv) {
+        return mv instanceof OwnedHashMultiValue && ((OwnedHashMultiValue) mv).owner == owner;
+    }
+
+    /**
+     * Returns a new node owned by {@code owner}. Node fields stay final, so a published node is always safely
+     * visible to other threads. Only the {@code values} array of a node this owner created is reused and updated in
+     * place, the new node then replaces the old one, which is unreachable from that moment on.
+     */
+    private static HashMultiValue update(Object owner, HashMultiValue mv, Object[] values, int size, int hash, byte depth, long mask) {
+        return owned(owner, values, size, hash, depth, mv.index, mv.level, mask);
+    }
+
+    private static HashMultiValue owned(Object owner, Object[] values, int size, int hash, byte depth, int index, byte level, long mask) {
+        return new OwnedHashMultiValue(owner, values, size, hash, depth, index, level, mask);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected StreamCollection<Object[]> getCompareStream(ContainingCollection<? extends T> toCompare) {
         HashCollectionImpl<T> other = (HashCollectionImpl<T>) toCompare;
-        return new StreamCollectionImpl<>(new Comparer(key(), value, other.key(), other.value, size() + other.size()), false);
+        return new StreamCollectionImpl<>(new Comparer(key(), value, other.key(), other.value, size() + other.size()), isParallel());
     }
 
     private static final class Comparer implements Spliterator<Object[]> {
@@ -742,41 +1467,60 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
         private final Function   key1;
         @SuppressWarnings("rawtypes")
         private final Function   key2;
-        private final Object     val1;
-        private final Object     val2;
-        private final int        total;
+        private Object[]         vals1;
+        private Object[]         vals2;
+        private int[]            idxs;
+        private byte             lev;
+        private int              from;
+        private int              to;
+        private int              total;
 
         @SuppressWarnings("rawtypes")
         private Comparer(Function key1, Object val1, Function key2, Object val2, int total) {
+            this(key1, new Object[]{val1}, key2, new Object[]{val2}, new int[1], (byte) 0, 0, 1, total);
+        }
+
+        @SuppressWarnings("rawtypes")
+        private Comparer(Function key1, Object[] vals1, Function key2, Object[] vals2, int[] idxs, byte lev, int from, int to, int total) {
             this.key1 = key1;
             this.key2 = key2;
-            this.val1 = val1;
-            this.val2 = val2;
+            this.vals1 = vals1;
+            this.vals2 = vals2;
+            this.idxs = idxs;
+            this.lev = lev;
+            this.from = from;
+            this.to = to;
             this.total = total;
         }
 
         @Override
         public void forEachRemaining(Consumer<? super Object[]> visitor) {
             Object[] pair = new Object[2];
-            //noinspection ResultOfMethodCallIgnored
-            set(val1, key1, index(val1, key1), e1 -> {
+            Function<Object, Object> set1 = e1 -> {
                 pair[0] = e1;
                 pair[1] = null;
                 visitor.accept(pair);
                 return null;
-            }, val2, key2, index(val2, key2), e2 -> {
+            };
+            Function<Object, Object> set2 = e2 -> {
                 pair[0] = null;
                 pair[1] = e2;
                 visitor.accept(pair);
                 return null;
-            }, (byte) 0, 0, (v1, v2) -> {
-                if ((key1 != identity() || key2 != identity()) && !Objects.equals(v1, v2)) {
+            };
+            BiFunction<Object, Object, Object> set12 = (v1, v2) -> {
+                if ((key1 != identity() || key2 != identity()) && !elementEquals(key1, v1, v2)) {
                     pair[0] = v1;
                     pair[1] = v2;
                     visitor.accept(pair);
                 }
                 return null;
-            }, false);
+            };
+            for (; from < to; from++) {
+                Object val1 = vals1[from], val2 = vals2[from];
+                //noinspection ResultOfMethodCallIgnored
+                set(val1, key1, index(val1, key1), set1, val2, key2, index(val2, key2), set2, lev, idxs[from], set12, false);
+            }
         }
 
         @Override
@@ -786,7 +1530,46 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
 
         @Override
         public Spliterator<Object[]> trySplit() {
-            return null;
+            if (!split(total)) {
+                return null;
+            } else if (to - from == 1 && !expand()) {
+                return null;
+            }
+            int half = from + (to - from) / 2;
+            Comparer prefix = new Comparer(key1, vals1, key2, vals2, idxs, lev, from, half, total / 2);
+            from = half;
+            total -= prefix.total;
+            return prefix;
+        }
+
+        /**
+         * Replaces a single pair of nodes on the same level and index by the pairs of their children, which are
+         * exactly the pairs setMultiMulti would compare. Only shared nodes are not expanded, equal but unshared nodes
+         * are left to the split halves instead of a deep equals before any parallel work starts.
+         */
+        private boolean expand() {
+            if (!(vals1[from] instanceof HashMultiValue) || !(vals2[from] instanceof HashMultiValue)) {
+                return false;
+            }
+            HashMultiValue mv1 = (HashMultiValue) vals1[from], mv2 = (HashMultiValue) vals2[from];
+            if (mv1 == mv2 || mv1.level != mv2.level || mv1.level == NR_OF_PARTS || mv1.index != mv2.index) {
+                return false;
+            }
+            long mask = mv1.mask | mv2.mask;
+            int len = Long.bitCount(mask);
+            vals1 = new Object[len];
+            vals2 = new Object[len];
+            idxs = new int[len];
+            for (int i = Long.numberOfTrailingZeros(mask), r = 0; r < len; i += Long.numberOfTrailingZeros(mask >>> (i + 1)) + 1, r++) {
+                int i1 = getIt(mv1.mask, i), i2 = getIt(mv2.mask, i);
+                vals1[r] = i1 >= 0 ? mv1.values[i1] : null;
+                vals2[r] = i2 >= 0 ? mv2.values[i2] : null;
+                idxs[r] = mv1.index | i << PART_SHIFTS[mv1.level];
+            }
+            lev = (byte) (mv1.level + 1);
+            from = 0;
+            to = len;
+            return true;
         }
 
         @Override
@@ -1003,7 +1786,7 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
 
         @SuppressWarnings("unchecked")
         private Object visitEqualHashes(BiFunction<? super Object[], Integer, Object> visitor, int index, int len, byte dep) {
-            Object obj, other, key, result = null;
+            Object obj, key, result = null;
             int it, length, base = -1, prev = -1;
             for (it = 0; it < len; it++) {
                 if (keep[dep][it]) {
@@ -1026,17 +1809,13 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                         for (int iii = 0; iii < len; iii++) {
                             if (iii != i) {
                                 values[dep + 1][iii] = null;
-                                it = length(values[dep][iii]);
-                                for (int iiii = 0; iiii < it; iiii++) {
-                                    other = get(values[dep][iii], iiii);
-                                    if (key.equals(keys[dep][iii].apply(other))) {
-                                        if (base != iii && iii < i) {
-                                            // already done
-                                            continue next;
-                                        } else {
-                                            values[dep + 1][iii] = other;
-                                            break;
-                                        }
+                                it = indexOf(values[dep][iii], keys[dep][iii], key);
+                                if (it >= 0) {
+                                    if (base != iii && iii < i) {
+                                        // already done
+                                        continue next;
+                                    } else {
+                                        values[dep + 1][iii] = get(values[dep][iii], it);
                                     }
                                 }
                             }
@@ -1047,7 +1826,7 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                         } else if (result instanceof HashMultiValue && ((HashMultiValue) result).level == NR_OF_PARTS) {
                             assert index == ((HashMultiValue) result).index;
                             result = ((HashMultiValue) result).set(keys[dep][0], key, obj);
-                        } else if (!(result instanceof HashMultiValue) && keys[dep][0].apply(result).equals(key)) {
+                        } else if (!(result instanceof HashMultiValue) && keyEquals(keys[dep][0], keys[dep][0].apply(result), key)) {
                             result = obj;
                         } else if (obj != null) {
                             result = HashMultiValue.of(result, obj, index);
@@ -1078,7 +1857,7 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                     if (equal && values[dep][l] != null) {
                         Object key = key(values[dep][l], keys[dep][l]);
                         if (prev != null) {
-                            equal = prev.equals(key);
+                            equal = keyEquals(keys[dep][l], prev, key);
                         } else {
                             prev = key;
                         }
@@ -0,0 +1,180 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.util.TriConsumer;
+import org.modelingvalue.collections.util.TriFunction;
+
+/**
+ * Base of the insertion ordered collections. Every element gets an increasing sequence number, and the elements are
+ * kept in a hash trie keyed by that number. Because an {@link Integer} hashes to itself, the trie iterates (and
+ * splits) in sequence order.
+ */
+public abstract class LinkedCollectionImpl<T> extends CollectionImpl<T> {
+
+    private static final long       serialVersionUID = 4987471199658474604L;
+
+    protected final Map<Integer, T> order;
+    protected final int             next;
+    private transient int           hash;
+
+    protected LinkedCollectionImpl(Map<Integer, T> order, int next) {
+        this.order = order;
+        this.next = next;
+    }
+
+    protected boolean full() {
+        return next == Integer.MAX_VALUE;
+    }
+
+    @Override
+    protected Stream<T> baseStream() {
+        return new StreamCollectionImpl<>(spliterator(), isParallel());
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new LinkedSpliterator<>(order.spliterator());
+    }
+
+    public Spliterator<T> reverseSpliterator() {
+        return new LinkedSpliterator<>(order.reverseSpliterator());
+    }
+
+    public Collection<T> reverse() {
+        return new StreamCollectionImpl<>(reverseSpliterator(), isParallel());
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public int size() {
+        return order.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return order.isEmpty();
+    }
+
+    // the int argument selects the positional get, not the get by Integer key
+    public T first() {
+        return order.isEmpty() ? null : order.get((int) 0).getValue();
+    }
+
+    public T last() {
+        return order.isEmpty() ? null : order.get((int) (order.size() - 1)).getValue();
+    }
+
+    @Override
+    public <R> Collection<R> linked(TriFunction<T, T, T, R> function) {
+        return asList().linked(function);
+    }
+
+    @Override
+    public void linked(TriConsumer<T, T, T> consumer) {
+        asList().linked(consumer);
+    }
+
+    @Override
+    public <R> Collection<R> indexed(BiFunction<T, Integer, R> function) {
+        return asList().indexed(function);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            for (T e : this) {
+                h = 31 * h + e.hashCode();
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || !getClass().equals(obj.getClass())) {
+            return false;
+        }
+        LinkedCollectionImpl<?> other = (LinkedCollectionImpl<?>) obj;
+        if (size() != other.size() || hashCode() != other.hashCode()) {
+            return false;
+        }
+        Iterator<?> it = other.iterator();
+        for (T e : this) {
+            if (!Objects.equals(e, it.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class LinkedSpliterator<T> implements Spliterator<T> {
+
+        private final Spliterator<Entry<Integer, T>> order;
+
+        private LinkedSpliterator(Spliterator<Entry<Integer, T>> order) {
+            this.order = order;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return order.tryAdvance(e -> action.accept(e.getValue()));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            order.forEachRemaining(e -> action.accept(e.getValue()));
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<Entry<Integer, T>> prefix = order.trySplit();
+            return prefix != null ? new LinkedSpliterator<>(prefix) : null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return order.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return order.characteristics() | Spliterator.ORDERED;
+        }
+
+    }
+
+}
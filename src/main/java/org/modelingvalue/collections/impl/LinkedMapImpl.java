@@ -0,0 +1,203 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.Comparator;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.LinkedMap;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.TransientMap;
+import org.modelingvalue.collections.util.Pair;
+
+public class LinkedMapImpl<K, V> extends LinkedCollectionImpl<Entry<K, V>> implements LinkedMap<K, V> {
+
+    private static final long     serialVersionUID = 8930249643630872539L;
+
+    @SuppressWarnings("rawtypes")
+    public static final LinkedMap EMPTY            = new LinkedMapImpl<>(Map.of(), Map.of(), Map.of(), 0);
+
+    private final Map<K, V>       map;
+    private final Map<K, Integer> positions;
+
+    private LinkedMapImpl(Map<K, V> map, Map<K, Integer> positions, Map<Integer, Entry<K, V>> order, int next) {
+        super(order, next);
+        this.map = map;
+        this.positions = positions;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> LinkedMap<K, V> of(Entry<K, V>[] entries) {
+        return ((LinkedMapImpl<K, V>) EMPTY).putAll(Collection.of(entries));
+    }
+
+    @SuppressWarnings("unchecked")
+    private LinkedMap<K, V> create(Map<K, V> map, Map<K, Integer> positions, Map<Integer, Entry<K, V>> order, int next) {
+        return order.isEmpty() ? EMPTY : map == this.map && order == this.order ? this : new LinkedMapImpl<>(map, positions, order, next);
+    }
+
+    private LinkedMapImpl<K, V> renumber() {
+        return (LinkedMapImpl<K, V>) clear().putAll(this);
+    }
+
+    @Override
+    public V get(K key) {
+        return map.get(key);
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        return map.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public Entry<K, V> getEntry(K key) {
+        return map.getEntry(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean contains(Object e) {
+        return e instanceof Entry && ((Entry<K, V>) e).equals(map.getEntry(((Entry<K, V>) e).getKey()));
+    }
+
+    @Override
+    public LinkedMap<K, V> put(Entry<K, V> entry) {
+        return put(entry.getKey(), entry.getValue());
+    }
+
+    @Override
+    public LinkedMap<K, V> put(K key, V value) {
+        Entry<K, V> old = map.getEntry(key);
+        if (old != null && old.getValue() == value) {
+            return this;
+        } else if (old == null && full()) {
+            return renumber().put(key, value);
+        }
+        Map<K, V> m = map.put(key, value);
+        Integer seq = old != null ? positions.get(key) : Integer.valueOf(next);
+        return create(m, old != null ? positions : positions.put(key, seq), order.put(seq, m.getEntry(key)), old != null ? next : next + 1);
+    }
+
+    @Override
+    public LinkedMap<K, V> putAll(Collection<? extends Entry<K, V>> entries) {
+        TransientMap<K, V> m = map.toTransient();
+        TransientMap<K, Integer> p = positions.toTransient();
+        TransientMap<Integer, Entry<K, V>> o = order.toTransient();
+        int n = next;
+        for (Entry<K, V> e : entries) {
+            Integer seq = p.get(e.getKey());
+            if (seq == null) {
+                if (n == Integer.MAX_VALUE) {
+                    return renumber().putAll(entries);
+                }
+                seq = n++;
+                p.put(e.getKey(), seq);
+            }
+            m.put(e);
+            o.put(seq, m.getEntry(e.getKey()));
+        }
+        return create(m.persistent(), p.persistent(), o.persistent(), n);
+    }
+
+    @Override
+    public LinkedMap<K, V> removeKey(K key) {
+        Integer seq = positions.get(key);
+        return seq == null ? this : create(map.removeKey(key), positions.removeKey(key), order.removeKey(seq), next);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public LinkedMap<K, V> removeAllKey(Collection<?> keys) {
+        TransientMap<K, V> m = map.toTransient();
+        TransientMap<K, Integer> p = positions.toTransient();
+        TransientMap<Integer, Entry<K, V>> o = order.toTransient();
+        for (Object k : keys) {
+            Integer seq = p.get((K) k);
+            if (seq != null) {
+                m.removeKey((K) k);
+                p.removeKey((K) k);
+                o.removeKey(seq);
+            }
+        }
+        return create(m.persistent(), p.persistent(), o.persistent(), next);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public LinkedMap<K, V> clear() {
+        return EMPTY;
+    }
+
+    @Override
+    public Collection<K> toKeys() {
+        return map(Entry::getKey);
+    }
+
+    @Override
+    public Collection<V> toValues() {
+        return map(Entry::getValue);
+    }
+
+    @Override
+    public Map<K, V> toMap() {
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public LinkedMap<K, V> merge(LinkedMap<K, V>[] branches, int length) {
+        Map<K, V>[] maps = new Map[length];
+        for (int i = 0; i < length; i++) {
+            maps[i] = branches[i].toMap();
+        }
+        Map<K, V> merged = map.merge(maps, length);
+        LinkedMap<K, V> result = this;
+        for (Entry<K, Pair<V, V>> d : map.diff(merged).asList()) {
+            K k = d.getKey();
+            result = merged.containsKey(k) ? map.containsKey(k) ? result.put(merged.getEntry(k)) : result : result.removeKey(k);
+        }
+        for (int i = 0; i < length; i++) {
+            Collection<Entry<K, Pair<Integer, Integer>>> diff = positions.diff(((LinkedMapImpl<K, V>) branches[i]).positions);
+            for (Entry<K, Pair<Integer, Integer>> d : diff.filter(d -> d.getValue().a() == null).sorted(Comparator.comparing(d -> d.getValue().b())).asList()) {
+                if (!result.containsKey(d.getKey()) && merged.containsKey(d.getKey())) {
+                    result = result.put(merged.getEntry(d.getKey()));
+                }
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public LinkedMap<K, V> getMerger() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Class<LinkedMap> getMeetClass() {
+        return LinkedMap.class;
+    }
+
+}
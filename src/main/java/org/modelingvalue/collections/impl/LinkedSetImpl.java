@@ -0,0 +1,160 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.Comparator;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.LinkedSet;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.TransientMap;
+import org.modelingvalue.collections.util.Pair;
+
+public class LinkedSetImpl<T> extends LinkedCollectionImpl<T> implements LinkedSet<T> {
+
+    private static final long       serialVersionUID = -628149726563695697L;
+
+    @SuppressWarnings("rawtypes")
+    public static final LinkedSet   EMPTY            = new LinkedSetImpl<>(Map.of(), Map.of(), 0);
+
+    private final Map<T, Integer>   positions;
+
+    private LinkedSetImpl(Map<T, Integer> positions, Map<Integer, T> order, int next) {
+        super(order, next);
+        this.positions = positions;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> LinkedSet<T> of(T[] elements) {
+        return ((LinkedSetImpl<T>) EMPTY).addAll(Collection.of(elements));
+    }
+
+    @SuppressWarnings("unchecked")
+    private LinkedSet<T> create(Map<T, Integer> positions, Map<Integer, T> order, int next) {
+        return order.isEmpty() ? EMPTY : positions == this.positions && order == this.order ? this : new LinkedSetImpl<>(positions, order, next);
+    }
+
+    private LinkedSetImpl<T> renumber() {
+        return (LinkedSetImpl<T>) clear().addAll(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean contains(Object e) {
+        return positions.containsKey((T) e);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return c.allMatch(this::contains);
+    }
+
+    @Override
+    public LinkedSet<T> add(T e) {
+        if (positions.containsKey(e)) {
+            return this;
+        } else if (full()) {
+            return renumber().add(e);
+        } else {
+            Integer seq = next;
+            return create(positions.put(e, seq), order.put(seq, e), next + 1);
+        }
+    }
+
+    @Override
+    public LinkedSet<T> addAll(Collection<? extends T> c) {
+        TransientMap<T, Integer> p = positions.toTransient();
+        TransientMap<Integer, T> o = order.toTransient();
+        int n = next;
+        for (T e : c) {
+            if (!p.containsKey(e)) {
+                if (n == Integer.MAX_VALUE) {
+                    return renumber().addAll(c);
+                }
+                Integer seq = n++;
+                p.put(e, seq);
+                o.put(seq, e);
+            }
+        }
+        return create(p.persistent(), o.persistent(), n);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public LinkedSet<T> remove(Object e) {
+        Integer seq = positions.get((T) e);
+        return seq == null ? this : create(positions.removeKey((T) e), order.removeKey(seq), next);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public LinkedSet<T> removeAll(Collection<?> c) {
+        TransientMap<T, Integer> p = positions.toTransient();
+        TransientMap<Integer, T> o = order.toTransient();
+        for (Object e : c) {
+            Integer seq = p.get((T) e);
+            if (seq != null) {
+                p.removeKey((T) e);
+                o.removeKey(seq);
+            }
+        }
+        return create(p.persistent(), o.persistent(), next);
+    }
+
+    @Override
+    public LinkedSet<T> retainAll(Collection<?> c) {
+        Set<?> retain = c.asSet();
+        return removeAll(filter(e -> !retain.contains(e)).asList());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public LinkedSet<T> clear() {
+        return EMPTY;
+    }
+
+    @Override
+    public Set<T> toSet() {
+        return positions.toKeys().asSet();
+    }
+
+    @Override
+    public LinkedSet<T> merge(LinkedSet<T>[] branches, int length) {
+        LinkedSet<T> result = this;
+        for (int i = 0; i < length; i++) {
+            Collection<Entry<T, Pair<Integer, Integer>>> diff = positions.diff(((LinkedSetImpl<T>) branches[i]).positions).asList();
+            result = result.removeAll(diff.filter(d -> d.getValue().b() == null).map(Entry::getKey).asList());
+            result = result.addAll(diff.filter(d -> d.getValue().a() == null).sorted(Comparator.comparing(d -> d.getValue().b())).map(Entry::getKey).asList());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public LinkedSet<T> getMerger() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Class<LinkedSet> getMeetClass() {
+        return LinkedSet.class;
+    }
+
+}
@@ -0,0 +1,109 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Myers' O((N+M)D) difference of two element arrays. The common prefix and suffix are matched up front and elements are
+ * compared on their hash codes before {@code equals}, so arrays that are mostly equal are matched in about linear time.
+ * When more than {@link #MAX_EDITS} edits are needed the remaining middle part is treated as replaced as a whole.
+ */
+final class ListDiff {
+
+    static final int MAX_EDITS = Integer.getInteger("LIST_DIFF_MAX_EDITS", 1 << 10);
+
+    private ListDiff() {
+    }
+
+    /**
+     * Returns for every element of {@code a} the index of the matching element in {@code b}, or {@code -1} when it is
+     * not matched. Matched indexes are strictly increasing.
+     */
+    static int[] match(Object[] a, Object[] b) {
+        int n = a.length, m = b.length;
+        int[] match = new int[n];
+        Arrays.fill(match, -1);
+        int p = 0;
+        while (p < n && p < m && a[p].equals(b[p])) {
+            match[p] = p;
+            p++;
+        }
+        int s = 0;
+        while (s < n - p && s < m - p && a[n - 1 - s].equals(b[m - 1 - s])) {
+            match[n - 1 - s] = m - 1 - s;
+            s++;
+        }
+        if (p < n - s && p < m - s) {
+            myers(a, p, n - s, b, p, m - s, match);
+        }
+        return match;
+    }
+
+    private static void myers(Object[] a, int af, int at, Object[] b, int bf, int bt, int[] match) {
+        int n = at - af, m = bt - bf;
+        int[] ha = hashes(a, af, at), hb = hashes(b, bf, bt);
+        int limit = Math.min(n + m, MAX_EDITS);
+        int offset = limit + 1;
+        int[] v = new int[2 * limit + 3];
+        ArrayList<int[]> trace = new ArrayList<>();
+        for (int d = 0; d <= limit; d++) {
+            trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1]) ? v[offset + k + 1] : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && ha[x] == hb[y] && a[af + x].equals(b[bf + y])) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    backtrack(trace, n, m, af, bf, match);
+                    return;
+                }
+            }
+        }
+    }
+
+    // trace.get(d) holds the furthest x per diagonal k in [-d, d] before step d
+    private static void backtrack(ArrayList<int[]> trace, int x, int y, int af, int bf, int[] match) {
+        for (int d = trace.size() - 1; d > 0; d--) {
+            int[] prev = trace.get(d);
+            int k = x - y;
+            int pk = k == -d || (k != d && prev[k - 1 + d] < prev[k + 1 + d]) ? k + 1 : k - 1;
+            int px = prev[pk + d], py = px - pk;
+            while (x > px && y > py) {
+                match[af + --x] = bf + --y;
+            }
+            x = px;
+            y = py;
+        }
+        while (x > 0 && y > 0) {
+            match[af + --x] = bf + --y;
+        }
+    }
+
+    private static int[] hashes(Object[] es, int from, int to) {
+        int[] hashes = new int[to - from];
+        for (int i = from; i < to; i++) {
+            hashes[i - from] = es[i].hashCode();
+        }
+        return hashes;
+    }
+
+}
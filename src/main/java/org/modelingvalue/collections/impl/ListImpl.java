@@ -18,13 +18,16 @@ package org.modelingvalue.collections.impl;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collector;
 
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.ContainingCollection;
@@ -41,12 +44,13 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
     private static final int  MULTI_MAX_LENGTH     = Integer.getInteger("LIST_MULTI_MAX_LENGTH", 32);
     private static final int  HALF_MAX_LENGTH      = MULTI_MAX_LENGTH / 2;
     private static final int  UNBALANCE_TOLERATION = Integer.getInteger("LIST_UNBALANCE_TOLERATION", 10);
+    private static final int  PARALLEL_BUILD_MIN   = Integer.getInteger("LIST_PARALLEL_BUILD_MIN", 1 << 15);
 
-    private static final class OrderedCollectionSpliterator<T> extends CollectionSpliterator<T> {
+    static final class OrderedCollectionSpliterator<T> extends CollectionSpliterator<T> {
 
         private static final int ORDERED_CHARACTERISTICS = Spliterator.ORDERED | CHARACTERISTICS;
 
-        private OrderedCollectionSpliterator(Object value, int min, int max, int size, boolean reverse) {
+        OrderedCollectionSpliterator(Object value, int min, int max, int size, boolean reverse) {
             super(value, min, max, size, reverse);
         }
 
@@ -62,7 +66,7 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
 
     }
 
-    private static Object getAllDeep(Object obj, int beginIndex, int endIndex) {
+    static Object getAllDeep(Object obj, int beginIndex, int endIndex) {
         if (beginIndex < 0) {
             throw new IndexOutOfBoundsException();
         } else if (endIndex > size(obj)) {
@@ -107,7 +111,7 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
         }
     }
 
-    private static Object removeAllDeep(Object obj, int beginIndex, int endIndex) {
+    static Object removeAllDeep(Object obj, int beginIndex, int endIndex) {
         if (beginIndex < 0) {
             throw new IndexOutOfBoundsException();
         } else if (endIndex > size(obj)) {
@@ -126,30 +130,24 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
             } else {
                 Object before = ((ListMultivalue) obj).getAllDeep(0, beginIndex);
                 Object after = ((ListMultivalue) obj).getAllDeep(endIndex, size(obj));
-                return ListMultivalue.createPair(before, after);
+                return concat(before, after);
             }
         } else {
             return null;
         }
     }
 
-    private static Object insert(Object obj, Object inserted, int index) {
+    static Object insert(Object obj, Object inserted, int index) {
         Objects.requireNonNull(inserted);
-        if (obj instanceof ListMultivalue) {
+        if (inserted instanceof ListMultivalue) {
+            return concat(concat(getAllDeep(obj, 0, index), inserted), getAllDeep(obj, index, size(obj)));
+        } else if (obj instanceof ListMultivalue) {
             return ((ListMultivalue) obj).insert(inserted, index);
         } else if (obj != null) {
             if (index == 0) {
-                if (inserted instanceof ListMultivalue) {
-                    return ((ListMultivalue) inserted).insert(obj, ((ListMultivalue) inserted).size);
-                } else {
-                    return ListMultivalue.createPair(inserted, obj);
-                }
+                return ListMultivalue.createPair(inserted, obj);
             } else if (index == 1) {
-                if (inserted instanceof ListMultivalue) {
-                    return ((ListMultivalue) inserted).insert(obj, 0);
-                } else {
-                    return ListMultivalue.createPair(obj, inserted);
-                }
+                return ListMultivalue.createPair(obj, inserted);
             }
         } else if (index == 0) {
             return inserted;
@@ -157,21 +155,137 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
         throw new IndexOutOfBoundsException();
     }
 
+    /**
+     * Concatenates two trees by joining the shallower one with the facing edge of the deeper one, like a B-tree join.
+     * Only the nodes along that edge are copied, all other nodes are shared, and the result is at most one level deeper
+     * than the deepest operand.
+     */
+    static Object concat(Object first, Object last) {
+        if (first == null) {
+            return last;
+        } else if (last == null) {
+            return first;
+        }
+        Object[] joined = ListMultivalue.join(first, last);
+        return joined.length == 1 ? joined[0] : ListMultivalue.node(joined);
+    }
+
+    /**
+     * Builds a balanced tree in one pass: the elements are packed into full leaves of {@link #MULTI_MAX_LENGTH} and
+     * every level above is filled from the left, so only the rightmost node of a level can be partial. Large sub trees
+     * are built in parallel when the current thread may split.
+     */
+    static Object build(Object[] es, int from, int to) {
+        int n = to - from;
+        if (n == 0) {
+            return null;
+        } else if (n == 1) {
+            return Objects.requireNonNull(es[from]);
+        } else if (n <= MULTI_MAX_LENGTH) {
+            Object[] leaf = Arrays.copyOfRange(es, from, to, Object[].class);
+            for (Object e : leaf) {
+                Objects.requireNonNull(e);
+            }
+            return ListMultivalue.node(leaf);
+        }
+        long capacity = MULTI_MAX_LENGTH;
+        while (capacity * MULTI_MAX_LENGTH < n) {
+            capacity *= MULTI_MAX_LENGTH;
+        }
+        int cap = (int) capacity;
+        Object[] children = new Object[(n + cap - 1) / cap];
+        if (n >= PARALLEL_BUILD_MIN && split(n)) {
+            ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[children.length];
+            for (int i = 0; i < children.length; i++) {
+                int c = i, f = from + i * cap, t = Math.min(to, f + cap);
+                tasks[i] = ForkJoinTask.adapt(() -> children[c] = build(es, f, t));
+            }
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            for (int i = 0; i < children.length; i++) {
+                int f = from + i * cap;
+                children[i] = build(es, f, Math.min(to, f + cap));
+            }
+        }
+        return ListMultivalue.node(children);
+    }
+
+    /**
+     * Appends an element while keeping the root in the shape {@code [prefix, tail]}, where the tail is a leaf of at
+     * most {@link #MULTI_MAX_LENGTH} elements. Only the tail and the root are copied, a full tail is pushed into the
+     * prefix as a whole leaf.
+     */
+    static Object append(Object obj, Object e) {
+        Objects.requireNonNull(e);
+        if (obj == null) {
+            return e;
+        } else if (!(obj instanceof ListMultivalue)) {
+            return ListMultivalue.node(new Object[]{obj, e});
+        }
+        ListMultivalue mv = (ListMultivalue) obj;
+        if (mv.depth == 2) {
+            return mv.values.length < MULTI_MAX_LENGTH ? mv.appendElement(e) : ListMultivalue.node(new Object[]{mv, e});
+        } else if (mv.values.length == 2) {
+            Object prefix = mv.values[0], tail = mv.values[1];
+            if (depth(tail) == 1) {
+                return ListMultivalue.node(new Object[]{prefix, ListMultivalue.node(new Object[]{tail, e})});
+            } else if (depth(tail) == 2 && length(tail) < MULTI_MAX_LENGTH) {
+                return ListMultivalue.node(new Object[]{prefix, ((ListMultivalue) tail).appendElement(e)});
+            } else if (depth(tail) == 2) {
+                return ListMultivalue.node(new Object[]{ListMultivalue.push(prefix, (ListMultivalue) tail), e});
+            }
+        }
+        return ListMultivalue.node(new Object[]{mv, e});
+    }
+
+    /**
+     * Returns the first element in obj, which every node caches, so sorted collections can binary search each level
+     * of the tree on the first keys of the children without descending into them.
+     */
+    static Object first(Object obj) {
+        return obj instanceof ListMultivalue ? ((ListMultivalue) obj).first : obj;
+    }
+
+    /**
+     * Removes the last element, the counterpart of {@link #append(Object, Object)}. When the tail is down to one
+     * element the last leaf of the prefix becomes the new tail.
+     */
+    static Object removeLast(Object obj) {
+        if (!(obj instanceof ListMultivalue)) {
+            return null;
+        }
+        ListMultivalue mv = (ListMultivalue) obj;
+        int n = mv.values.length;
+        Object last = mv.values[n - 1];
+        if (mv.depth == 2) {
+            return n == 2 ? mv.values[0] : ListMultivalue.node(Arrays.copyOf(mv.values, n - 1));
+        } else if (n == 2 && depth(last) == 1) {
+            Object[] split = ListMultivalue.popLeaf(mv.values[0]);
+            return split[0] == null ? split[1] : ListMultivalue.node(split);
+        }
+        Object removed = removeLast(last);
+        if (removed == null) {
+            return n == 2 ? mv.values[0] : ListMultivalue.node(Arrays.copyOf(mv.values, n - 1));
+        }
+        Object[] values = mv.values.clone();
+        values[n - 1] = removed;
+        return ListMultivalue.node(values);
+    }
+
     private static final class ListMultivalue extends MultiValue {
 
         private static final long serialVersionUID = -1093279559842921979L;
 
         private static ListMultivalue of(Object[] values) {
             int hash = 0;
+            long summary = 0;
             byte depth = 0;
             int len = 0;
             int size = 0;
             for (Object e : values) {
                 int s = size(e);
-                for (int i = 0; i < s; i++) {
-                    hash *= 31;
-                }
-                hash += hash(e);
+                hash = hash * pow31(s) + hash(e);
+                summary |= summary(e);
                 size += s;
                 len += length(e);
                 depth = max(depth, depth(e));
@@ -206,16 +320,177 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
                 }
                 values = balanced;
             }
-            return new ListMultivalue(values, size, hash, (byte) (depth + 1));
+            return new ListMultivalue(values, size, hash, summary, (byte) (depth + 1));
         }
 
-        private ListMultivalue(Object[] values, int size, int hash, byte depth) {
+        private static ListMultivalue node(Object[] values) {
+            int hash = 0;
+            long summary = 0;
+            byte depth = 0;
+            int size = 0;
+            for (Object e : values) {
+                int s = size(e);
+                hash = hash * pow31(s) + hash(e);
+                summary |= summary(e);
+                size += s;
+                depth = max(depth, depth(e));
+            }
+            return new ListMultivalue(values, size, hash, summary, (byte) (depth + 1));
+        }
+
+        // returns one or two trees that are not deeper than the deepest of first and last
+        private static Object[] join(Object first, Object last) {
+            byte df = depth(first), dl = depth(last);
+            if (df > dl) {
+                Object[] values = ((ListMultivalue) first).values;
+                int n = values.length - 1;
+                return pack(replace(values, n, join(values[n], last)));
+            } else if (df < dl) {
+                Object[] values = ((ListMultivalue) last).values;
+                return pack(replace(values, 0, join(first, values[0])));
+            } else if (df == 1) {
+                return new Object[]{first, last};
+            }
+            Object[] fv = ((ListMultivalue) first).values, lv = ((ListMultivalue) last).values;
+            if (fv.length + lv.length > MULTI_MAX_LENGTH && Math.min(fv.length, lv.length) >= HALF_MAX_LENGTH) {
+                return new Object[]{first, last};
+            }
+            Object[] children = Arrays.copyOf(fv, fv.length + lv.length);
+            System.arraycopy(lv, 0, children, fv.length, lv.length);
+            return pack(children);
+        }
+
+        private static Object[] replace(Object[] values, int i, Object[] by) {
+            Object[] result = new Object[values.length - 1 + by.length];
+            System.arraycopy(values, 0, result, 0, i);
+            System.arraycopy(by, 0, result, i, by.length);
+            System.arraycopy(values, i + 1, result, i + by.length, values.length - i - 1);
+            return result;
+        }
+
+        private static Object[] pack(Object[] children) {
+            if (children.length <= MULTI_MAX_LENGTH) {
+                return new Object[]{node(children)};
+            }
+            int half = children.length / 2;
+            return new Object[]{node(Arrays.copyOf(children, half)), node(Arrays.copyOfRange(children, half, children.length))};
+        }
+
+        private static Object push(Object prefix, ListMultivalue leaf) {
+            Object pushed = tryPush(prefix, leaf);
+            return pushed != null ? pushed : node(new Object[]{prefix, leaf});
+        }
+
+        private static Object tryPush(Object obj, ListMultivalue leaf) {
+            if (depth(obj) <= leaf.depth) {
+                return null;
+            }
+            ListMultivalue mv = (ListMultivalue) obj;
+            int n = mv.values.length;
+            Object last = mv.values[n - 1];
+            Object pushed = tryPush(last, leaf);
+            if (pushed == null && depth(last) <= mv.depth - 2 && leaf.depth <= mv.depth - 2) {
+                pushed = node(new Object[]{last, leaf});
+            }
+            if (pushed != null) {
+                Object[] values = mv.values.clone();
+                values[n - 1] = pushed;
+                return node(values);
+            } else if (n < MULTI_MAX_LENGTH) {
+                Object[] values = Arrays.copyOf(mv.values, n + 1);
+                values[n] = leaf;
+                return node(values);
+            } else {
+                return null;
+            }
+        }
+
+        private static Object[] popLeaf(Object obj) {
+            if (depth(obj) <= 2) {
+                return new Object[]{null, obj};
+            }
+            ListMultivalue mv = (ListMultivalue) obj;
+            int n = mv.values.length;
+            Object[] split = popLeaf(mv.values[n - 1]);
+            if (split[0] == null) {
+                split[0] = n == 1 ? null : n == 2 ? mv.values[0] : node(Arrays.copyOf(mv.values, n - 1));
+            } else {
+                Object[] values = mv.values.clone();
+                values[n - 1] = split[0];
+                split[0] = node(values);
+            }
+            return split;
+        }
+
+        private ListMultivalue appendElement(Object e) {
+            Object[] result = Arrays.copyOf(values, values.length + 1);
+            result[values.length] = e;
+            return new ListMultivalue(result, size + 1, hash * 31 + hash(e), summary | summary(e), depth);
+        }
+
+        // one bit per element hash, or-ed over the children, so a node without the bit of an element does not contain it
+        private static long summary(Object obj) {
+            return obj instanceof ListMultivalue ? ((ListMultivalue) obj).summary : 1L << ((obj.hashCode() * 0x9E3779B9) >>> 26);
+        }
+
+        private boolean mayContain(long bit) {
+            return (summary & bit) != 0;
+        }
+
+        private static int pow31(int n) {
+            int result = 1;
+            for (int base = 31; n > 0; n >>>= 1, base *= base) {
+                if ((n & 1) != 0) {
+                    result *= base;
+                }
+            }
+            return result;
+        }
+
+        // cumulative child sizes, null for leaves where every child is a single element
+        private final int[]  ends;
+        private final Object first;
+        private final long   summary;
+
+        private ListMultivalue(Object[] values, int size, int hash, long summary, byte depth) {
             super(values, size, hash, depth);
+            this.summary = summary;
+            first = ListImpl.first(values[0]);
+            if (depth > 2) {
+                ends = new int[values.length];
+                int len = 0;
+                for (int i = 0; i < values.length; i++) {
+                    ends[i] = len += size(values[i]);
+                }
+            } else {
+                ends = null;
+            }
+        }
+
+        @Override
+        protected int child(int idx) {
+            if (ends == null) {
+                return idx;
+            }
+            int lo = 0, hi = ends.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ends[mid] > idx) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        @Override
+        protected int offset(int i) {
+            return ends == null ? i : i == 0 ? 0 : ends[i - 1];
         }
 
         private Object insert(Object inserted, int idx) {
             Object[] result = null;
-            int oldLen = 0;
             if (idx == 0) {
                 if (values.length < MULTI_MAX_LENGTH) {
                     result = new Object[values.length + 1];
@@ -234,29 +509,25 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
                     Object val = values[i];
                     result = insert(i, val, inserted, size(val));
                 }
-            }
-            for (int i = 0; result == null && i < values.length; i++) {
-                Object val = values[i];
-                int valSize = size(val);
-                int newLen = oldLen + valSize;
-                if (newLen > idx && oldLen < idx) {
-                    result = insert(i, val, inserted, idx - oldLen);
-                } else if (newLen == idx) {
-                    if (values.length < MULTI_MAX_LENGTH) {
-                        result = new Object[values.length + 1];
-                        System.arraycopy(values, 0, result, 0, ++i);
-                        System.arraycopy(values, i, result, i + 1, values.length - i);
-                        result[i] = inserted;
+            } else if (idx > 0 && idx < size) {
+                int i = child(idx);
+                int offset = offset(i);
+                if (offset < idx) {
+                    result = insert(i, values[i], inserted, idx - offset);
+                } else if (values.length < MULTI_MAX_LENGTH) {
+                    result = new Object[values.length + 1];
+                    System.arraycopy(values, 0, result, 0, i);
+                    System.arraycopy(values, i, result, i + 1, values.length - i);
+                    result[i] = inserted;
+                } else {
+                    Object val = values[i - 1];
+                    int valSize = size(val);
+                    if (valSize < size(values[i])) {
+                        result = insert(i - 1, val, inserted, valSize);
                     } else {
-                        Object val2 = values[i + 1];
-                        if (valSize < size(val2)) {
-                            result = insert(i, val, inserted, valSize);
-                        } else {
-                            result = insert(i + 1, val2, inserted, 0);
-                        }
+                        result = insert(i, values[i], inserted, 0);
                     }
                 }
-                oldLen = newLen;
             }
             if (result != null) {
                 return ListMultivalue.of(result);
@@ -274,10 +545,39 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
             if (beginIndex == 0 && endIndex == size) {
                 return this;
             }
-            if (beginIndex < size) {
-                return ListImpl.getAllDeep(values, beginIndex, endIndex);
+            if (beginIndex >= size) {
+                throw new IndexOutOfBoundsException();
             }
-            throw new IndexOutOfBoundsException();
+            int ib = child(beginIndex);
+            int ie = child(endIndex - 1);
+            int ob = offset(ib);
+            int oe = offset(ie);
+            if (ib == ie) {
+                return ListImpl.getAllDeep(values[ib], beginIndex - ob, endIndex - ob);
+            } else if (ends == null) {
+                return node(Arrays.copyOfRange(values, ib, ie + 1));
+            }
+            Object first = ListImpl.getAllDeep(values[ib], beginIndex - ob, offset(ib + 1) - ob);
+            Object last = ListImpl.getAllDeep(values[ie], 0, endIndex - oe);
+            boolean firstFull = isFull(first), lastFull = isFull(last);
+            if (firstFull && lastFull) {
+                Object[] result = Arrays.copyOfRange(values, ib, ie + 1);
+                result[0] = first;
+                result[result.length - 1] = last;
+                return node(result);
+            } else if (ie - ib == 1) {
+                return concat(first, last);
+            }
+            // a thin or shallow edge is joined with its neighbour, so that all leaves stay at about the same depth
+            Object[] children = Arrays.copyOfRange(values, ib + 1, ie);
+            children = replace(children, 0, firstFull ? new Object[]{first, children[0]} : join(first, children[0]));
+            int n = children.length - 1;
+            children = replace(children, n, lastFull ? new Object[]{children[n], last} : join(children[n], last));
+            return node(children);
+        }
+
+        private boolean isFull(Object child) {
+            return depth(child) == depth - 1 && length(child) >= HALF_MAX_LENGTH;
         }
 
         @Override
@@ -286,14 +586,10 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
         }
 
         private boolean equalsWithStop(Object other, int min, boolean[] stop) {
-            int[] len = new int[values.length];
-            for (int i = 0; i < values.length; i++) {
-                len[i] = size(values[i]) + prev(len, i);
-            }
             return getIntStream(0, values.length, stop, size).allMatch(i -> {
                 if (!stop[0]) {
                     Object val = values[i];
-                    int pos = min + prev(len, i);
+                    int pos = min + offset(i);
                     if (val instanceof ListMultivalue ? ((ListMultivalue) val).equalsWithStop(other, pos, stop) : val.equals(TreeCollectionImpl.getDeep(other, pos))) {
                         return true;
                     }
@@ -309,35 +605,18 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
             values[1] = last;
             return ListMultivalue.of(values);
         }
-
-        private static int prev(int[] len, int i) {
-            return i > 0 ? len[i - 1] : 0;
-        }
     }
 
     @SuppressWarnings("rawtypes")
     public static final List EMPTY = new ListImpl((Object) null);
 
     public ListImpl(T[] es) {
-        if (es.length > MULTI_MAX_LENGTH) {
-            for (int i = 0; i < es.length; i++) {
-                value = insert(value, es[i], i);
-            }
-        } else {
-            value = es.length == 1 ? es[0] : ListMultivalue.of(Arrays.copyOf(es, es.length, Object[].class));
-        }
+        value = build(es, 0, es.length);
     }
 
     public ListImpl(java.util.Collection<? extends T> coll) {
-        if (coll.size() > MULTI_MAX_LENGTH) {
-            int i = 0;
-            for (T e : coll) {
-                value = insert(value, e, i++);
-            }
-        } else {
-            Object[] es = coll.toArray();
-            value = /* TODO WIM as.length==0?EMPTY : */ es.length == 1 ? es[0] : ListMultivalue.of(es);
-        }
+        Object[] es = coll.toArray();
+        value = build(es, 0, es.length);
     }
 
     private ListImpl(Object value) {
@@ -356,7 +635,7 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
 
     @Override
     public List<T> append(T e) {
-        return new ListImpl<>(insert(value, e, size(value)));
+        return new ListImpl<>(append(value, e));
     }
 
     @Override
@@ -399,7 +678,7 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
 
     @Override
     public List<T> removeLast() {
-        return removeAllLast(1);
+        return value == null ? removeAllLast(1) : create(removeLast(value));
     }
 
     @Override
@@ -469,13 +748,29 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
 
     @Override
     public int firstIndexOf(Object element) {
-        int i = 0;
-        for (var o : this) {
-            if (o.equals(element))
-                return i;
-            i++;
+        return element == null ? -1 : indexOf(value, element, ListMultivalue.summary(element), false);
+    }
+
+    /**
+     * Finds the first, or when reverse the last, position of element in obj. Sub trees whose hash summary lacks the bit of
+     * the element are skipped without visiting their elements.
+     */
+    private static int indexOf(Object obj, Object element, long bit, boolean reverse) {
+        if (obj instanceof ListMultivalue) {
+            ListMultivalue mv = (ListMultivalue) obj;
+            if (mv.mayContain(bit)) {
+                int n = mv.values.length;
+                for (int k = 0; k < n; k++) {
+                    int i = reverse ? n - 1 - k : k;
+                    int found = indexOf(mv.values[i], element, bit, reverse);
+                    if (found >= 0) {
+                        return mv.offset(i) + found;
+                    }
+                }
+            }
+            return -1;
         }
-        return -1;
+        return obj != null && obj.equals(element) ? 0 : -1;
     }
 
     @Override
@@ -510,7 +805,7 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
 
     @Override
     public int lastIndexOf(Object element) {
-        return lastIndexOf(0, size(), element);
+        return element == null ? -1 : indexOf(value, element, ListMultivalue.summary(element), true);
     }
 
     @Override
@@ -719,50 +1014,195 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
         return getCompareStream(branches);
     }
 
+    /**
+     * Compares this list positionally with the other list. Every run of edits is reported in order as the part of this
+     * list that is replaced and the part of the other list that replaces it, the first is null for an insertion and the
+     * second for a deletion. A thin wrapper over {@link #diff(List)}.
+     */
     @SuppressWarnings("unchecked")
     @Override
     protected StreamCollection<Object[]> getCompareStream(ContainingCollection<? extends T> toCompare) {
-        return (StreamCollection<Object[]>) asSet().compare((ContainingCollection<T>) toCompare.asSet()).map(a -> {
-            Object[] b = new Object[a.length];
-            for (int i = 0; i < a.length; i++) {
-                if (a[i] != null) {
-                    b[i] = ((ListImpl<T>) a[i].asList()).value;
+        Object b = ((ListImpl<T>) toCompare.asList()).value;
+        return (StreamCollection<Object[]>) diff(toCompare.asList()).map(r -> new Object[]{getAllDeep(value, r[0], r[1]), getAllDeep(b, r[2], r[3])});
+    }
+
+    /**
+     * Every run of edits from this list to the other list in order, as {begin, end, otherBegin, otherEnd}: the range of
+     * this list that is replaced by the range of the other list. Equal leading and trailing parts are skipped a subtree at
+     * a time, the middle part is diffed by {@link ListDiff}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public StreamCollection<int[]> diff(List<? extends T> other) {
+        Object a = value, b = ((ListImpl<T>) other).value;
+        ArrayList<int[]> runs = new ArrayList<>();
+        if (a != b) {
+            int n = size(a), m = size(b);
+            int prefix = common(a, b, Math.min(n, m), false);
+            int suffix = common(a, b, Math.min(n, m) - prefix, true);
+            Object[] as = elements(getAllDeep(a, prefix, n - suffix)), bs = elements(getAllDeep(b, prefix, m - suffix));
+            int[] match = ListDiff.match(as, bs);
+            for (int k = 0, i = 0, j = 0; k <= as.length; k++) {
+                if (k == as.length || match[k] >= 0) {
+                    int l = k == as.length ? bs.length : match[k];
+                    if (i < k || j < l) {
+                        runs.add(new int[]{prefix + i, prefix + k, prefix + j, prefix + l});
+                    }
+                    i = k + 1;
+                    j = l + 1;
+                }
+            }
+        }
+        return new StreamCollectionImpl<>(runs.spliterator(), isParallel());
+    }
+
+    // the number of equal leading (or trailing) elements of a and b, at most max, skipping shared or equal subtrees
+    private static int common(Object a, Object b, int max, boolean reverse) {
+        int common = 0;
+        if (max > 0) {
+            Edge ea = new Edge(a, reverse), eb = new Edge(b, reverse);
+            while (common < max && ea.level >= 0 && eb.level >= 0) {
+                Object x = ea.nodes[ea.level], y = eb.nodes[eb.level];
+                int sx = size(x), sy = size(y);
+                if (sx == sy && common + sx <= max && (x == y || (hash(x) == hash(y) && equalsWithStop(x, y, new boolean[1])))) {
+                    common += sx;
+                    ea.skip();
+                    eb.skip();
+                } else if (x instanceof MultiValue && (sx >= sy || !(y instanceof MultiValue))) {
+                    ea.down();
+                } else if (y instanceof MultiValue) {
+                    eb.down();
                 } else {
-                    b[i] = null;
+                    break;
                 }
             }
-            return b;
-        });
+        }
+        return common;
     }
 
-    @SuppressWarnings("resource")
+    // the subtree at one end of the part of a list that is not yet skipped, also used to walk sorted collections
+    static final class Edge {
+        final Object[]          nodes;
+        private final int[]     index;
+        private final boolean   reverse;
+        int                     level;
+
+        Edge(Object value, boolean reverse) {
+            nodes = new Object[depth(value)];
+            index = new int[nodes.length];
+            nodes[0] = value;
+            this.reverse = reverse;
+        }
+
+        void down() {
+            MultiValue mv = (MultiValue) nodes[level];
+            int i = reverse ? mv.values.length - 1 : 0;
+            index[level] = i;
+            nodes[++level] = mv.values[i];
+        }
+
+        void skip() {
+            while (--level >= 0) {
+                MultiValue mv = (MultiValue) nodes[level];
+                int i = index[level] + (reverse ? -1 : 1);
+                if (i >= 0 && i < mv.values.length) {
+                    index[level] = i;
+                    nodes[++level] = mv.values[i];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Three-way merge against this list as the base. Every changed branch is diffed with the base by {@link ListDiff}. A
+     * base element is kept only when all branches keep it. The runs the branches insert before the same base position
+     * are merged with each other by {@link ListDiff} as well, so elements inserted by several branches are taken once
+     * and the other elements keep their order in each branch.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public List<T> merge(List<T>[] branches, int length) {
-        int biggest = -1;
-        int size = -1;
+        List<T> changed = this;
+        int nrOfChanged = 0;
         for (int i = 0; i < length; i++) {
-            if (branches[i].size() > size) {
-                size = branches[i].size();
-                biggest = i;
+            if (!branches[i].equals(this)) {
+                changed = branches[i];
+                nrOfChanged++;
             }
         }
-        List<T> result = biggest >= 0 ? branches[biggest] : this;
+        if (nrOfChanged <= 1) {
+            return changed;
+        }
+        Object[] base = elements(value);
+        int n = base.length;
+        boolean[] removed = new boolean[n];
+        Object[][] inserted = new Object[n + 1][];
+        int size = n;
         for (int i = 0; i < length; i++) {
-            if (i != biggest) {
-                for (T t : this) {
-                    if (!branches[i].contains(t)) {
-                        result = result.remove(t);
+            if (!branches[i].equals(this)) {
+                Object[] branch = elements(((ListImpl) branches[i]).value);
+                int[] match = ListDiff.match(base, branch);
+                for (int g = 0, b = 0; g <= n; g++) {
+                    if (g < n && match[g] < 0) {
+                        removed[g] = true;
+                        continue;
                     }
-                }
-                for (int eb = 0; eb < branches[i].size(); eb++) {
-                    T t = branches[i].get(eb);
-                    if (!contains(t) && !result.contains(t)) {
-                        result = result.insert(Math.min(result.size(), eb), t);
+                    int e = g < n ? match[g] : branch.length;
+                    if (e > b) {
+                        Object[] insert = Arrays.copyOfRange(branch, b, e);
+                        Object[] union = inserted[g] == null ? insert : union(inserted[g], insert);
+                        size += union.length - (inserted[g] == null ? 0 : inserted[g].length);
+                        inserted[g] = union;
                     }
+                    b = e + 1;
                 }
             }
         }
-        return result;
+        Object[] result = new Object[size];
+        int r = 0;
+        for (int g = 0; g <= n; g++) {
+            if (inserted[g] != null) {
+                System.arraycopy(inserted[g], 0, result, r, inserted[g].length);
+                r += inserted[g].length;
+            }
+            if (g < n && !removed[g]) {
+                result[r++] = base[g];
+            }
+        }
+        return new ListImpl<>(build(result, 0, r));
+    }
+
+    /**
+     * Returns the shortest merge of a and b that keeps the order of both, where the elements {@link ListDiff} matches are
+     * taken once and unmatched elements of a go before unmatched elements of b at the same place.
+     */
+    private static Object[] union(Object[] a, Object[] b) {
+        int[] match = ListDiff.match(a, b);
+        Object[] result = new Object[a.length + b.length];
+        int r = 0, j = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (match[i] >= 0) {
+                while (j < match[i]) {
+                    result[r++] = b[j++];
+                }
+                j++;
+            }
+            result[r++] = a[i];
+        }
+        while (j < b.length) {
+            result[r++] = b[j++];
+        }
+        return r == result.length ? result : Arrays.copyOf(result, r);
+    }
+
+    private static Object[] elements(Object value) {
+        Object[] elements = new Object[size(value)];
+        if (value != null) {
+            int[] i = new int[1];
+            visit(value, e -> elements[i[0]++] = e);
+        }
+        return elements;
     }
 
     @SuppressWarnings("unchecked")
@@ -909,4 +1349,36 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
         return new MutableList<>(this);
     }
 
+    public static <T> Collector<T, Appender<T>, List<T>> collector() {
+        return Collector.of(Appender::new, Appender::add, Appender::append, Appender::list);
+    }
+
+    private static final class Appender<T> {
+        @SuppressWarnings("unchecked")
+        private List<T>  list     = EMPTY;
+        private Object[] elements = new Object[MULTI_MAX_LENGTH];
+        private int      length;
+
+        private void add(T e) {
+            if (length == elements.length) {
+                elements = Arrays.copyOf(elements, length * 2);
+            }
+            elements[length++] = e;
+        }
+
+        private Appender<T> append(Appender<T> other) {
+            list = list().appendList(other.list());
+            return this;
+        }
+
+        private List<T> list() {
+            if (length > 0) {
+                list = list.appendList(new ListImpl<>(build(elements, 0, length)));
+                elements = new Object[MULTI_MAX_LENGTH];
+                length = 0;
+            }
+            return list;
+        }
+    }
+
 }
@@ -0,0 +1,127 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.List;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.ListMultimap;
+import org.modelingvalue.collections.TransientListMultimap;
+
+public class ListMultimapImpl<K, V> extends MultimapImpl<K, V, List<V>> implements ListMultimap<K, V> {
+
+    private static final long serialVersionUID = -6702172300042519358L;
+
+    @SuppressWarnings("rawtypes")
+    public static final ListMultimap  EMPTY            = new ListMultimapImpl<>(Map.of(), 0);
+
+    ListMultimapImpl(Map<K, List<V>> map, int size) {
+        super(map, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected ListMultimapImpl<K, V> create(Map<K, List<V>> map, int size) {
+        return map.isEmpty() ? (ListMultimapImpl<K, V>) EMPTY : map == this.map ? this : new ListMultimapImpl<>(map, size);
+    }
+
+    @Override
+    protected List<V> empty() {
+        return List.of();
+    }
+
+    @Override
+    protected List<V> add(List<V> values, V value) {
+        return values.append(value);
+    }
+
+    @Override
+    protected List<V> addAll(List<V> values, Collection<? extends V> added) {
+        return values.appendList(added.asList());
+    }
+
+    @Override
+    public ListMultimap<K, V> put(K key, V value) {
+        return (ListMultimap<K, V>) putValue(key, value);
+    }
+
+    @Override
+    public ListMultimap<K, V> putAll(K key, Collection<? extends V> values) {
+        return (ListMultimap<K, V>) putAllValues(key, values);
+    }
+
+    @Override
+    public ListMultimap<K, V> remove(K key, V value) {
+        return (ListMultimap<K, V>) removeValue(key, value);
+    }
+
+    @Override
+    public ListMultimap<K, V> removeAll(K key, Collection<?> values) {
+        return (ListMultimap<K, V>) removeAllValues(key, values);
+    }
+
+    @Override
+    public ListMultimap<K, V> removeKey(K key) {
+        return (ListMultimap<K, V>) removeKeyValues(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ListMultimap<K, V> clear() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ListMultimap<V, K> inverse() {
+        ListMultimap<V, K> result = (ListMultimap<V, K>) inverse;
+        if (result == null) {
+            TransientListMultimap<V, K> tr = ListMultimap.<V, K> of().toTransient();
+            for (Entry<K, List<V>> e : map) {
+                for (V v : e.getValue()) {
+                    tr.put(v, e.getKey());
+                }
+            }
+            inverse = result = tr.persistent();
+        }
+        return result;
+    }
+
+    @Override
+    public TransientListMultimap<K, V> toTransient() {
+        return new TransientListMultimapImpl<>(this);
+    }
+
+    @Override
+    public ListMultimap<K, V> merge(ListMultimap<K, V>[] branches, int length) {
+        return (ListMultimap<K, V>) mergeValues(branches, length);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ListMultimap<K, V> getMerger() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Class<ListMultimap> getMeetClass() {
+        return ListMultimap.class;
+    }
+
+}
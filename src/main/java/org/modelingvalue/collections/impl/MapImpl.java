@@ -18,6 +18,7 @@ package org.modelingvalue.collections.impl;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
@@ -25,11 +26,13 @@ import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
 
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.Entry;
 import org.modelingvalue.collections.Map;
 import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.TransientMap;
 import org.modelingvalue.collections.mutable.MutableMap;
 import org.modelingvalue.collections.util.ArrayUtil;
 import org.modelingvalue.collections.util.Deserializer;
@@ -61,10 +64,28 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
-    protected final Function<Entry<K, V>, Object> key() {
+    protected Function<Entry<K, V>, Object> key() {
         return (Function) KEY;
     }
 
+    protected Function<K, Object> keyIdentity() {
+        return identity();
+    }
+
+    /**
+     * The trie of {@code m}, rehashed if {@code m} uses another {@link org.modelingvalue.collections.Equivalence}.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected final Object valueFor(MapImpl m) {
+        return m.key().equals(key()) ? m.value : putAll(null, (Function) key(), m.toArray());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected final Object keysValue(Collection<?> c) {
+        SetImpl s = (SetImpl) c.asSet();
+        return s.key().equals(keyIdentity()) ? s.value : addAll(null, (Function) keyIdentity(), s.toArray());
+    }
+
     @Override
     public Spliterator<Entry<K, V>> spliterator() {
         return new DistinctCollectionSpliterator<>(value, 0, length(value), size(value), false);
@@ -77,7 +98,7 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
 
     @Override
     public Map<K, V> put(K key, V val) {
-        return put(Entry.of(key, val));
+        return create(putValue(value, key(), key, keyIdentity(), val));
     }
 
     @Override
@@ -152,30 +173,30 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
     @SuppressWarnings("rawtypes")
     @Override
     public Map<K, V> putAll(Map<? extends K, ? extends V> c) {
-        return create(put(value, key(), ((MapImpl) c).value, key()));
+        return create(put(value, key(), valueFor((MapImpl) c), key()));
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public void deduplicate(Map<K, V> other) {
-        deduplicate(value, key(), ((MapImpl) other).value, key());
+        deduplicate(value, key(), valueFor((MapImpl) other), key());
     }
 
     @Override
     public Map<K, V> removeKey(K key) {
-        return create(remove(value, key(), key, identity()));
+        return create(remove(value, key(), key, keyIdentity()));
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public Map<K, V> removeAllKey(Collection<?> c) {
-        return create(remove(value, key(), ((SetImpl) c.asSet()).value, identity()));
+        return create(remove(value, key(), keysValue(c), keyIdentity()));
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public <X> Map<K, V> removeAllKey(Map<K, X> m) {
-        return create(remove(value, key(), ((MapImpl) m).value, key()));
+        return create(remove(value, key(), valueFor((MapImpl) m), key()));
     }
 
     @Override
@@ -191,7 +212,7 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
     @SuppressWarnings("rawtypes")
     @Override
     public Map<K, V> addAll(Map<? extends K, ? extends V> c, BinaryOperator<V> merger) {
-        return create(add(value, key(), ((MapImpl) c).value, key(), (e1, e2) -> mergeEntry(create(e1), create(e2), merger)));
+        return create(add(value, key(), valueFor((MapImpl) c), key(), (e1, e2) -> mergeEntry(create(e1), create(e2), merger)));
     }
 
     @Override
@@ -231,7 +252,7 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
 
     @Override
     public Map<K, V> remove(K key, V val, BinaryOperator<V> merger) {
-        return remove(Entry.of(key, val), merger);
+        return create(removeValue(value, key(), key, keyIdentity(), val, (e1, e2) -> mergeEntry(create(e1), create(e2), merger)));
     }
 
     @Override
@@ -242,15 +263,16 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
     @SuppressWarnings("rawtypes")
     @Override
     public Map<K, V> removeAll(Map<? extends K, ? extends V> c, BinaryOperator<V> merger) {
-        return create(remove(value, key(), ((MapImpl) c).value, key(), (e1, e2) -> mergeEntry(create(e1), create(e2), merger)));
+        return create(remove(value, key(), valueFor((MapImpl) c), key(), (e1, e2) -> mergeEntry(create(e1), create(e2), merger)));
     }
 
+    @SuppressWarnings("unchecked")
     protected Object mergeEntry(Map<K, V> map1, Map<K, V> map2, BinaryOperator<V> merger) {
-        return ((MapImpl<K, V>) map1.asMap(e1 -> {
+        return putAll(null, key(), map1.map(e1 -> {
             Entry<K, V> e2 = map2.getEntry(e1.getKey());
             V val = merger.apply(e1.getValue(), e2.getValue());
             return Objects.equals(val, e1.getValue()) ? e1 : Objects.equals(val, e2.getValue()) ? e2 : Entry.of(e1.getKey(), val);
-        })).value;
+        }).toArray(Entry[]::new));
     }
 
     @Override
@@ -309,7 +331,7 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
             } else if (a[1] == null) {
                 return a[0].map(e -> Entry.of(e.getKey(), Pair.of(a[0].get(e.getKey()), null)));
             } else {
-                return a[0].toKeys().asSet().addAll(a[1].toKeys()).map(k -> Entry.of(k, Pair.of(a[0].get(k), a[1].get(k))));
+                return a[1].putAll(a[0]).toKeys().map(k -> Entry.of(k, Pair.of(a[0].get(k), a[1].get(k))));
             }
         });
     }
@@ -343,7 +365,35 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
     @SuppressWarnings("rawtypes")
     @Override
     public Collection<V> getAll(Set<K> keys) {
-        return create(retain(value, key(), ((SetImpl) keys).value, identity())).map(Entry::getValue);
+        return create(retain(value, key(), keysValue(keys), keyIdentity())).map(Entry::getValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public int getAll(K[] keys, V[] out) {
+        return getAll(keys, out, new long[keys.length]);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public int getAll(K[] keys, V[] out, long[] scratch) {
+        return getAll(value, key(), keys, out, e -> ((Entry<K, V>) e).getValue(), scratch);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public Collection<Entry<K, V>> getAllEntries(Iterable<K> keys) {
+        Object[] array = keys instanceof Collection ? ((Collection<K>) keys).toArray() : Collection.of(keys).toArray();
+        Entry<K, V>[] entries = new Entry[array.length];
+        int found = getAll(value, key(), array, entries, Function.identity(), new long[array.length]);
+        if (found < entries.length) {
+            for (int i = 0, f = 0; f < found; i++) {
+                if (entries[i] != null) {
+                    entries[f++] = entries[i];
+                }
+            }
+        }
+        return Collection.of(Arrays.spliterator(entries, 0, found));
     }
 
     @SuppressWarnings("unchecked")
@@ -366,7 +416,7 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
 
     @Override
     public Map<K, V> filter(Predicate<? super K> keyPredicate, Predicate<? super V> valuePredicate) {
-        return filter(e -> keyPredicate.test(e.getKey()) && valuePredicate.test(e.getValue())).asMap(Function.identity());
+        return clear().putAll(filter(e -> keyPredicate.test(e.getKey()) && valuePredicate.test(e.getValue())).asMap(Function.identity()));
     }
 
     @Override
@@ -407,4 +457,15 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
         return new MutableMap<>(this);
     }
 
+    @Override
+    public TransientMap<K, V> toTransient() {
+        return new TransientMapImpl<>(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, K, V> Collector<T, TransientMap<K, V>, Map<K, V>> collector(Function<T, Entry<K, V>> entry) {
+        return Collector.of(() -> ((Map<K, V>) EMPTY).toTransient(), (t, e) -> t.put(entry.apply(e)), //
+                (a, b) -> a.persistent().putAll(b.persistent()).toTransient(), TransientMap::persistent);
+    }
+
 }
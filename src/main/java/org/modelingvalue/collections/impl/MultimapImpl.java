@@ -0,0 +1,160 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.ContainingCollection;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.util.Pair;
+
+public abstract class MultimapImpl<K, V, C extends ContainingCollection<V>> implements Serializable {
+
+    private static final long serialVersionUID = 2859079677765769955L;
+
+    protected final Map<K, C>  map;
+    protected final int        size;
+    protected transient Object inverse;
+
+    protected MultimapImpl(Map<K, C> map, int size) {
+        this.map = map;
+        this.size = size;
+    }
+
+    protected abstract MultimapImpl<K, V, C> create(Map<K, C> map, int size);
+
+    protected abstract C empty();
+
+    protected abstract C add(C values, V value);
+
+    protected abstract C addAll(C values, Collection<? extends V> added);
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public C get(K key) {
+        C values = map.get(key);
+        return values != null ? values : empty();
+    }
+
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    public boolean contains(K key, V value) {
+        C values = map.get(key);
+        return values != null && values.contains(value);
+    }
+
+    public Collection<K> toKeys() {
+        return map.toKeys();
+    }
+
+    public Collection<Entry<K, V>> entries() {
+        return map.flatMap(e -> e.getValue().map(v -> Entry.of(e.getKey(), v)));
+    }
+
+    public Map<K, C> asMap() {
+        return map;
+    }
+
+    protected MultimapImpl<K, V, C> set(K key, C pre, C post) {
+        if (post == pre) {
+            return this;
+        }
+        return create(post.isEmpty() ? map.removeKey(key) : map.put(key, post), size - pre.size() + post.size());
+    }
+
+    protected MultimapImpl<K, V, C> putValue(K key, V value) {
+        C pre = get(key);
+        return set(key, pre, add(pre, value));
+    }
+
+    protected MultimapImpl<K, V, C> putAllValues(K key, Collection<? extends V> values) {
+        C pre = get(key);
+        return set(key, pre, addAll(pre, values));
+    }
+
+    @SuppressWarnings("unchecked")
+    protected MultimapImpl<K, V, C> removeValue(K key, V value) {
+        C pre = get(key);
+        return set(key, pre, (C) pre.remove(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    protected MultimapImpl<K, V, C> removeAllValues(K key, Collection<?> values) {
+        C pre = get(key);
+        return set(key, pre, (C) pre.removeAll(values));
+    }
+
+    protected MultimapImpl<K, V, C> removeKeyValues(K key) {
+        C pre = map.get(key);
+        return pre == null ? this : create(map.removeKey(key), size - pre.size());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected MultimapImpl<K, V, C> mergeValues(Object[] branches, int length) {
+        Map<K, C>[] maps = new Map[length];
+        for (int i = 0; i < length; i++) {
+            maps[i] = ((MultimapImpl<K, V, C>) branches[i]).map;
+        }
+        Map<K, C> merged = map.merge(maps, length);
+        int mergedSize = size;
+        for (Entry<K, Pair<C, C>> d : map.diff(merged).asList()) {
+            C pre = d.getValue().a();
+            C post = d.getValue().b();
+            if (post != null && post.isEmpty()) {
+                merged = merged.removeKey(d.getKey());
+                post = null;
+            }
+            mergedSize += (post != null ? post.size() : 0) - (pre != null ? pre.size() : 0);
+        }
+        return merged.equals(map) ? this : create(merged, mergedSize);
+    }
+
+    @Override
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        } else {
+            return size == ((MultimapImpl) obj).size && Objects.equals(map, ((MultimapImpl) obj).map);
+        }
+    }
+
+    @Override
+    public String toString() {
+        String type = getClass().getSimpleName();
+        return type.substring(0, type.length() - 4) + map.toString().substring(3);
+    }
+
+}
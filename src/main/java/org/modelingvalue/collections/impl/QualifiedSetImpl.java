@@ -21,10 +21,12 @@ import java.io.ObjectOutputStream;
 import java.util.Objects;
 import java.util.Spliterator;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
 
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.QualifiedSet;
 import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.TransientQualifiedSet;
 import org.modelingvalue.collections.util.ArrayUtil;
 import org.modelingvalue.collections.util.Deserializer;
 import org.modelingvalue.collections.util.Mergeables;
@@ -314,4 +316,16 @@ public class QualifiedSetImpl<K, V> extends HashCollectionImpl<V> implements Qua
         return create(null);
     }
 
+    @Override
+    public TransientQualifiedSet<K, V> toTransient() {
+        return new TransientQualifiedSetImpl<>(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, K, V> Collector<T, TransientQualifiedSet<K, V>, QualifiedSet<K, V>> collector(SerializableFunction<V, K> qualifier) {
+        QualifiedSet<K, V> empty = QualifiedSet.of(qualifier);
+        return Collector.of(empty::toTransient, (t, e) -> t.add((V) e), //
+                (a, b) -> a.persistent().addAll(b.persistent()).toTransient(), TransientQualifiedSet::persistent);
+    }
+
 }
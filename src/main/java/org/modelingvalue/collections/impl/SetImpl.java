@@ -21,9 +21,11 @@ import java.io.ObjectOutputStream;
 import java.util.Objects;
 import java.util.Spliterator;
 import java.util.function.Function;
+import java.util.stream.Collector;
 
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.TransientSet;
 import org.modelingvalue.collections.mutable.MutableSet;
 import org.modelingvalue.collections.util.Deserializer;
 import org.modelingvalue.collections.util.Serializer;
@@ -42,12 +44,12 @@ public class SetImpl<T> extends HashCollectionImpl<T> implements Set<T> {
         this.value = addAll(null, key(), es);
     }
 
-    private SetImpl(Object value) {
+    protected SetImpl(Object value) {
         this.value = value;
     }
 
     @Override
-    protected final Function<T, Object> key() {
+    protected Function<T, Object> key() {
         return identity();
     }
 
@@ -63,31 +65,31 @@ public class SetImpl<T> extends HashCollectionImpl<T> implements Set<T> {
 
     @Override
     public Set<T> add(T e) {
-        return create(add(value, key(), e, identity()));
+        return create(add(value, key(), e, key()));
     }
 
     @Override
     public Set<T> remove(Object e) {
-        return create(remove(value, key(), e, identity()));
+        return create(remove(value, key(), e, key()));
     }
 
     @Override
     public Set<T> replace(Object pre, T post) {
-        Object rem = remove(value, key(), pre, identity());
-        return rem != value ? create(add(rem, key(), post, identity())) : this;
+        Object rem = remove(value, key(), pre, key());
+        return rem != value ? create(add(rem, key(), post, key())) : this;
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public void deduplicate(Set<T> other) {
-        deduplicate(value, key(), ((SetImpl) other).value, key());
+        deduplicate(value, key(), valueFor((SetImpl) other), key());
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public Set<T> retainAll(org.modelingvalue.collections.Collection<?> c) {
         if (c instanceof SetImpl) {
-            return create(retain(value, key(), ((SetImpl) c).value, key()));
+            return create(retain(value, key(), valueFor((SetImpl) c), key()));
         } else {
             return retainAll(c.asSet());
         }
@@ -97,7 +99,7 @@ public class SetImpl<T> extends HashCollectionImpl<T> implements Set<T> {
     @Override
     public Set<T> exclusiveAll(org.modelingvalue.collections.Collection<? extends T> c) {
         if (c instanceof SetImpl) {
-            return create(exclusive(value, key(), ((SetImpl) c).value, key()));
+            return create(exclusive(value, key(), valueFor((SetImpl) c), key()));
         } else {
             return exclusiveAll(c.asSet());
         }
@@ -107,7 +109,7 @@ public class SetImpl<T> extends HashCollectionImpl<T> implements Set<T> {
     @Override
     public Set<T> addAll(Collection<? extends T> c) {
         if (c instanceof SetImpl) {
-            return c.isEmpty() ? this : create(add(value, key(), ((SetImpl) c).value, key()));
+            return c.isEmpty() ? this : create(add(value, key(), valueFor((SetImpl) c), key()));
         } else {
             return addAll(c.asSet());
         }
@@ -117,7 +119,7 @@ public class SetImpl<T> extends HashCollectionImpl<T> implements Set<T> {
     @Override
     public Set<T> removeAll(Collection<?> c) {
         if (c instanceof SetImpl) {
-            return create(remove(value, key(), ((SetImpl) c).value, key()));
+            return create(remove(value, key(), valueFor((SetImpl) c), key()));
         } else {
             return removeAll(c.asSet());
         }
@@ -127,12 +129,20 @@ public class SetImpl<T> extends HashCollectionImpl<T> implements Set<T> {
     @Override
     public boolean containsAll(Collection<?> c) {
         if (c instanceof SetImpl) {
-            return c.size() == size(retain(value, key(), ((SetImpl) c).value, key()));
+            return c.size() == size(retain(value, key(), valueFor((SetImpl) c), key()));
         } else {
             return containsAll(c.asSet());
         }
     }
 
+    /**
+     * The trie of {@code c}, rehashed if {@code c} uses another {@link org.modelingvalue.collections.Equivalence}.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected final Object valueFor(SetImpl c) {
+        return c.key().equals(key()) ? c.value : addAll(null, (Function) key(), c.toArray());
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected SetImpl<T> create(Object val) {
@@ -195,4 +205,15 @@ public class SetImpl<T> extends HashCollectionImpl<T> implements Set<T> {
         return new MutableSet<>(this);
     }
 
+    @Override
+    public TransientSet<T> toTransient() {
+        return new TransientSetImpl<>(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Collector<T, TransientSet<T>, Set<T>> collector() {
+        return Collector.of(() -> ((Set<T>) EMPTY).toTransient(), TransientSet::add, //
+                (a, b) -> a.persistent().addAll(b.persistent()).toTransient(), TransientSet::persistent);
+    }
+
 }
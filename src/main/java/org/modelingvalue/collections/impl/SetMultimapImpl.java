@@ -0,0 +1,127 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.SetMultimap;
+import org.modelingvalue.collections.TransientSetMultimap;
+
+public class SetMultimapImpl<K, V> extends MultimapImpl<K, V, Set<V>> implements SetMultimap<K, V> {
+
+    private static final long serialVersionUID = -1450595010992813013L;
+
+    @SuppressWarnings("rawtypes")
+    public static final SetMultimap  EMPTY            = new SetMultimapImpl<>(Map.of(), 0);
+
+    SetMultimapImpl(Map<K, Set<V>> map, int size) {
+        super(map, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected SetMultimapImpl<K, V> create(Map<K, Set<V>> map, int size) {
+        return map.isEmpty() ? (SetMultimapImpl<K, V>) EMPTY : map == this.map ? this : new SetMultimapImpl<>(map, size);
+    }
+
+    @Override
+    protected Set<V> empty() {
+        return Set.of();
+    }
+
+    @Override
+    protected Set<V> add(Set<V> values, V value) {
+        return values.add(value);
+    }
+
+    @Override
+    protected Set<V> addAll(Set<V> values, Collection<? extends V> added) {
+        return values.addAll(added);
+    }
+
+    @Override
+    public SetMultimap<K, V> put(K key, V value) {
+        return (SetMultimap<K, V>) putValue(key, value);
+    }
+
+    @Override
+    public SetMultimap<K, V> putAll(K key, Collection<? extends V> values) {
+        return (SetMultimap<K, V>) putAllValues(key, values);
+    }
+
+    @Override
+    public SetMultimap<K, V> remove(K key, V value) {
+        return (SetMultimap<K, V>) removeValue(key, value);
+    }
+
+    @Override
+    public SetMultimap<K, V> removeAll(K key, Collection<?> values) {
+        return (SetMultimap<K, V>) removeAllValues(key, values);
+    }
+
+    @Override
+    public SetMultimap<K, V> removeKey(K key) {
+        return (SetMultimap<K, V>) removeKeyValues(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public SetMultimap<K, V> clear() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public SetMultimap<V, K> inverse() {
+        SetMultimap<V, K> result = (SetMultimap<V, K>) inverse;
+        if (result == null) {
+            TransientSetMultimap<V, K> tr = SetMultimap.<V, K> of().toTransient();
+            for (Entry<K, Set<V>> e : map) {
+                for (V v : e.getValue()) {
+                    tr.put(v, e.getKey());
+                }
+            }
+            inverse = result = tr.persistent();
+        }
+        return result;
+    }
+
+    @Override
+    public TransientSetMultimap<K, V> toTransient() {
+        return new TransientSetMultimapImpl<>(this);
+    }
+
+    @Override
+    public SetMultimap<K, V> merge(SetMultimap<K, V>[] branches, int length) {
+        return (SetMultimap<K, V>) mergeValues(branches, length);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public SetMultimap<K, V> getMerger() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Class<SetMultimap> getMeetClass() {
+        return SetMultimap.class;
+    }
+
+}
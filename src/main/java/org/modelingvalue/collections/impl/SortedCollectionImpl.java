@@ -0,0 +1,282 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.ContainingCollection;
+import org.modelingvalue.collections.StreamCollection;
+import org.modelingvalue.collections.impl.ListImpl.OrderedCollectionSpliterator;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Serializer;
+
+/**
+ * Base of the sorted collections. The elements are kept in key order in the positional tree of {@link ListImpl}, so
+ * sizes, hashes, depths and first elements are cached in the same {@link MultiValue} nodes. A key is found by one
+ * binary search per level on the cached first keys of the children, descending into the last child whose first key is
+ * not greater, which also yields its index, and ranges are cut out of the tree by index. Equality and hash code are
+ * positional, like those of a list: they depend on the elements in their order, not on the comparator instance. Unlike
+ * a {@link java.util.SortedSet}, collections with equal elements in another order are not equal.
+ */
+public abstract class SortedCollectionImpl<T, K> extends TreeCollectionImpl<T> {
+
+    private static final long               serialVersionUID = -2744178047297747936L;
+
+    protected transient Comparator<? super K> comparator;
+
+    protected SortedCollectionImpl(Comparator<? super K> comparator, Object value) {
+        this.comparator = comparator;
+        this.value = value;
+    }
+
+    protected abstract K key(T e);
+
+    /**
+     * Whether an element replaces a contained element with an equal key (map entries) or is ignored (set elements).
+     */
+    protected abstract boolean replaces();
+
+    /**
+     * Returns the index of the key in v, or -(insertion point)-1 if v does not contain the key.
+     */
+    @SuppressWarnings("unchecked")
+    protected int search(Object v, K k) {
+        if (v == null) {
+            return -1;
+        }
+        int index = 0;
+        while (v instanceof MultiValue) {
+            MultiValue mv = (MultiValue) v;
+            Object[] values = mv.values;
+            int lo = 0, hi = values.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (comparator.compare(key((T) ListImpl.first(values[mid])), k) <= 0) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            index += mv.offset(lo);
+            v = values[lo];
+        }
+        int c = comparator.compare(key((T) v), k);
+        return c == 0 ? index : c < 0 ? -index - 2 : -index - 1;
+    }
+
+    protected int floorIndex(K k) {
+        int i = search(value, k);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    protected int ceilingIndex(K k) {
+        int i = search(value, k);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    protected int lowerIndex(K k) {
+        int i = search(value, k);
+        return i >= 0 ? i - 1 : -i - 2;
+    }
+
+    protected int higherIndex(K k) {
+        int i = search(value, k);
+        return i >= 0 ? i + 1 : -i - 1;
+    }
+
+    protected T at(int index) {
+        return index >= 0 && index < size() ? get(index) : null;
+    }
+
+    public int countBetween(K from, K to) {
+        return Math.max(0, ceilingIndex(to) - ceilingIndex(from));
+    }
+
+    public Collection<T> range(K from, K to) {
+        Object v = subValue(from, to);
+        return new StreamCollectionImpl<>(new OrderedCollectionSpliterator<>(v, 0, length(v), size(v), false), isParallel());
+    }
+
+    protected Object headValue(K to) {
+        return ListImpl.getAllDeep(value, 0, ceilingIndex(to));
+    }
+
+    protected Object tailValue(K from) {
+        return ListImpl.getAllDeep(value, ceilingIndex(from), size());
+    }
+
+    protected Object subValue(K from, K to) {
+        int begin = ceilingIndex(from);
+        return ListImpl.getAllDeep(value, begin, Math.max(begin, ceilingIndex(to)));
+    }
+
+    protected Object addValue(Object v, T e) {
+        int i = search(v, key(e));
+        if (i < 0) {
+            return ListImpl.insert(v, e, -i - 1);
+        } else if (!replaces() || getDeep(v, i).equals(e)) {
+            return v;
+        } else {
+            return ListImpl.insert(ListImpl.removeAllDeep(v, i, i + 1), e, i);
+        }
+    }
+
+    protected Object addAllValue(Object v, Collection<? extends T> c) {
+        if (v == null) {
+            return build(c.toArray());
+        }
+        for (T e : c) {
+            v = addValue(v, e);
+        }
+        return v;
+    }
+
+    protected Object removeKeyValue(Object v, K k) {
+        int i = search(v, k);
+        return i < 0 ? v : ListImpl.removeAllDeep(v, i, i + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object build(Object[] es) {
+        if (es.length == 0) {
+            return null;
+        }
+        Arrays.sort(es, (a, b) -> comparator.compare(key((T) a), key((T) b)));
+        int l = 0;
+        for (int i = 1; i < es.length; i++) {
+            if (comparator.compare(key((T) es[l]), key((T) es[i])) != 0) {
+                es[++l] = es[i];
+            } else if (replaces()) {
+                es[l] = es[i];
+            }
+        }
+        return new ListImpl<>(Arrays.copyOf(es, l + 1)).value;
+    }
+
+    /**
+     * Visits the elements that differ between this and other in key order, an absent element is passed as null.
+     */
+    @SuppressWarnings("unchecked")
+    protected void diff(SortedCollectionImpl<T, K> other, BiConsumer<T, T> differ) {
+        walk(other, (v1, v2) -> {
+            if (v1 instanceof MultiValue) {
+                visit(v1, e -> differ.accept((T) e, null));
+            } else if (v2 instanceof MultiValue) {
+                visit(v2, e -> differ.accept(null, (T) e));
+            } else {
+                differ.accept((T) v1, (T) v2);
+            }
+        });
+    }
+
+    /**
+     * Walks the trees of this and other in key order in step and passes the parts that differ to differ, a part that
+     * is absent on one side as null. A node shared by both trees is skipped as a whole. A node with keys that are all
+     * absent on the other side is passed as a whole, the other elements one by one, so the walk only descends along
+     * the changes.
+     */
+    @SuppressWarnings("unchecked")
+    private void walk(SortedCollectionImpl<T, K> other, BiConsumer<Object, Object> differ) {
+        if (value == other.value) {
+            return;
+        } else if (value == null || other.value == null) {
+            differ.accept(value, other.value);
+            return;
+        }
+        ListImpl.Edge e1 = new ListImpl.Edge(value, false), e2 = new ListImpl.Edge(other.value, false);
+        while (e1.level >= 0 && e2.level >= 0) {
+            Object x = e1.nodes[e1.level], y = e2.nodes[e2.level];
+            boolean mx = x instanceof MultiValue, my = y instanceof MultiValue;
+            if (x == y) {
+                e1.skip();
+                e2.skip();
+            } else if (!mx && !my) {
+                int c = comparator.compare(key((T) x), key((T) y));
+                if (c < 0) {
+                    differ.accept(x, null);
+                    e1.skip();
+                } else if (c > 0) {
+                    differ.accept(null, y);
+                    e2.skip();
+                } else {
+                    if (!x.equals(y)) {
+                        differ.accept(x, y);
+                    }
+                    e1.skip();
+                    e2.skip();
+                }
+            } else if (!my && comparator.compare(key((T) ListImpl.first(x)), key((T) y)) > 0) {
+                differ.accept(null, y);
+                e2.skip();
+            } else if (!mx && comparator.compare(key((T) x), key((T) ListImpl.first(y))) < 0) {
+                differ.accept(x, null);
+                e1.skip();
+            } else if (mx && (!my || size(x) >= size(y))) {
+                e1.down();
+            } else {
+                e2.down();
+            }
+        }
+        for (; e1.level >= 0; e1.skip()) {
+            differ.accept(e1.nodes[e1.level], null);
+        }
+        for (; e2.level >= 0; e2.skip()) {
+            differ.accept(null, e2.nodes[e2.level]);
+        }
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new OrderedCollectionSpliterator<>(value, 0, length(value), size(value), false);
+    }
+
+    @Override
+    public Spliterator<T> reverseSpliterator() {
+        return new OrderedCollectionSpliterator<>(value, 0, length(value), size(value), true);
+    }
+
+    /**
+     * Compares this with the other sorted collection in one walk of both trees in key order, see
+     * {@link #walk(SortedCollectionImpl, BiConsumer)}. Every part that differs is reported in key order.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    protected StreamCollection<Object[]> getCompareStream(ContainingCollection<? extends T> toCompare) {
+        ArrayList<Object[]> parts = new ArrayList<>();
+        walk((SortedCollectionImpl<T, K>) toCompare, (v1, v2) -> parts.add(new Object[]{v1, v2}));
+        return new StreamCollectionImpl<>(parts.spliterator(), isParallel());
+    }
+
+    @Override
+    public void javaSerialize(Serializer s) {
+        s.writeObject(comparator);
+        super.javaSerialize(s);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void javaDeserialize(Deserializer s) {
+        comparator = (Comparator<? super K>) s.readObject();
+        super.javaDeserialize(s);
+    }
+
+}
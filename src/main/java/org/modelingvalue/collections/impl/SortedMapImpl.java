@@ -0,0 +1,326 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Comparator;
+import java.util.Objects;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.SortedMap;
+import org.modelingvalue.collections.SortedSet;
+import org.modelingvalue.collections.util.ArrayUtil;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Mergeables;
+import org.modelingvalue.collections.util.Serializer;
+
+public class SortedMapImpl<K, V> extends SortedCollectionImpl<Entry<K, V>, K> implements SortedMap<K, V> {
+
+    private static final long      serialVersionUID = -6448399823139075984L;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static final SortedMap  EMPTY            = new SortedMapImpl(Comparator.naturalOrder(), null);
+
+    protected SortedMapImpl(Comparator<? super K> comparator, Object value) {
+        super(comparator, value);
+    }
+
+    public static <K, V> SortedMap<K, V> of(Comparator<? super K> comparator, Entry<K, V>[] entries) {
+        SortedMapImpl<K, V> empty = new SortedMapImpl<>(comparator, null);
+        return empty.create(empty.addAllValue(null, Collection.of(entries)));
+    }
+
+    @Override
+    protected K key(Entry<K, V> e) {
+        return e.getKey();
+    }
+
+    @Override
+    protected boolean replaces() {
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected SortedMapImpl<K, V> create(Object val) {
+        return val != value ? (val == null && comparator == Comparator.naturalOrder() ? (SortedMapImpl<K, V>) EMPTY : new SortedMapImpl<>(comparator, val)) : this;
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public V get(K key) {
+        return getOrDefault(key, null);
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Entry<K, V> entry = getEntry(key);
+        return entry == null ? defaultValue : entry.getValue();
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return search(value, key) >= 0;
+    }
+
+    @Override
+    public Entry<K, V> getEntry(K key) {
+        return at(search(value, key));
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return at(0);
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        return at(size() - 1);
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return at(floorIndex(key));
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return at(ceilingIndex(key));
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        return at(lowerIndex(key));
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        return at(higherIndex(key));
+    }
+
+    @Override
+    public int rank(K key) {
+        return ceilingIndex(key);
+    }
+
+    @Override
+    public Entry<K, V> select(int rank) {
+        return get(rank);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K to) {
+        return create(headValue(to));
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K from) {
+        return create(tailValue(from));
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K from, K to) {
+        return create(subValue(from, to));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean contains(Object e) {
+        return e instanceof Entry && e.equals(getEntry(((Entry<K, V>) e).getKey()));
+    }
+
+    @Override
+    public SortedMap<K, V> put(K key, V value) {
+        return add(Entry.of(key, value));
+    }
+
+    @Override
+    public SortedMap<K, V> put(Entry<K, V> entry) {
+        return add(entry);
+    }
+
+    @Override
+    public SortedMap<K, V> add(Entry<K, V> e) {
+        return create(addValue(value, e));
+    }
+
+    @Override
+    public SortedMap<K, V> addAll(Collection<? extends Entry<K, V>> c) {
+        return create(addAllValue(value, c));
+    }
+
+    @Override
+    public SortedMap<K, V> addUnique(Entry<K, V> e) {
+        return add(e);
+    }
+
+    @Override
+    public SortedMap<K, V> addAllUnique(Collection<? extends Entry<K, V>> c) {
+        return addAll(c);
+    }
+
+    @Override
+    public SortedMap<K, V> removeKey(K key) {
+        return create(removeKeyValue(value, key));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public SortedMap<K, V> removeAllKey(Collection<?> keys) {
+        Object v = value;
+        for (Object k : keys) {
+            v = removeKeyValue(v, (K) k);
+        }
+        return create(v);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public SortedMap<K, V> remove(Object e) {
+        return contains(e) ? removeKey(((Entry<K, V>) e).getKey()) : this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public SortedMap<K, V> removeAll(Collection<?> c) {
+        Object v = value;
+        for (Object e : c) {
+            if (contains(e)) {
+                v = removeKeyValue(v, ((Entry<K, V>) e).getKey());
+            }
+        }
+        return create(v);
+    }
+
+    @Override
+    public SortedMap<K, V> replace(Object pre, Entry<K, V> post) {
+        return contains(pre) ? remove(pre).add(post) : this;
+    }
+
+    @Override
+    public SortedMap<K, V> replaceFirst(Object pre, Entry<K, V> post) {
+        return replace(pre, post);
+    }
+
+    @Override
+    public Collection<K> toKeys() {
+        return map(Entry::getKey);
+    }
+
+    @Override
+    public Collection<V> toValues() {
+        return map(Entry::getValue);
+    }
+
+    @Override
+    public SortedMap<K, V> clear() {
+        return create(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public SortedMap<K, V> merge(SortedMap<K, V>[] branches, int length) {
+        SortedSet<K>[] keys = new SortedSet[]{SortedSetImpl.of(comparator, (K[]) new Object[0])};
+        for (int i = 0; i < length; i++) {
+            diff((SortedMapImpl<K, V>) branches[i], (e1, e2) -> keys[0] = keys[0].add(e1 != null ? e1.getKey() : e2.getKey()));
+        }
+        Object result = value;
+        Entry<K, V>[] es = new Entry[length + 1];
+        for (K key : keys[0]) {
+            es[0] = getEntry(key);
+            for (int i = 0; i < length; i++) {
+                es[i + 1] = branches[i].getEntry(key);
+            }
+            Entry<K, V> merged = merge(es);
+            result = merged == null ? removeKeyValue(result, key) : addValue(result, merged);
+        }
+        return create(result);
+    }
+
+    private Entry<K, V> merge(Entry<K, V>[] es) {
+        Entry<K, V> r = es[0];
+        for (int i = 1; i < es.length; i++) {
+            if (!Objects.equals(es[i], es[0]) && !Objects.equals(es[i], r)) {
+                if (!Objects.equals(es[0], r)) {
+                    return mergeValues(es);
+                } else {
+                    r = es[i];
+                }
+            }
+        }
+        return r;
+    }
+
+    private Entry<K, V> mergeValues(Entry<K, V>[] es) {
+        K key = null;
+        V v = es[0] != null ? es[0].getValue() : null;
+        V[] vs = null;
+        for (int i = 0; i < es.length; i++) {
+            if (es[i] != null) {
+                key = es[i].getKey();
+                if (i > 0) {
+                    vs = ArrayUtil.set(vs, i - 1, es[i].getValue(), es.length - 1);
+                }
+            }
+        }
+        V result = Mergeables.merge(v, vs, es.length - 1);
+        return result == null ? null : Entry.of(key, result);
+    }
+
+    @Override
+    public SortedMap<K, V> getMerger() {
+        return create(null);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Class<SortedMap> getMeetClass() {
+        return SortedMap.class;
+    }
+
+    private void writeObject(ObjectOutputStream s) throws IOException {
+        Serializer.wrap(s, this::javaSerialize);
+    }
+
+    private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+        Deserializer.wrap(s, this::javaDeserialize);
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        s.writeObject(comparator);
+        s.writeInt(size());
+        for (Entry<K, V> e : this) {
+            s.writeObject(e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "unused"})
+    private static <K, V> SortedMap<K, V> deserialize(Deserializer s) {
+        Comparator<? super K> comparator = (Comparator<? super K>) s.readObject();
+        Entry<K, V>[] entries = (Entry<K, V>[]) s.readArray(new Entry[]{});
+        return of(comparator, entries);
+    }
+
+}
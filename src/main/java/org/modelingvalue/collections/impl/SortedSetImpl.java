@@ -0,0 +1,234 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Comparator;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.SortedSet;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Serializer;
+
+public class SortedSetImpl<T> extends SortedCollectionImpl<T, T> implements SortedSet<T> {
+
+    private static final long      serialVersionUID = 7472982964589414206L;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static final SortedSet  EMPTY            = new SortedSetImpl(Comparator.naturalOrder(), null);
+
+    protected SortedSetImpl(Comparator<? super T> comparator, Object value) {
+        super(comparator, value);
+    }
+
+    public static <T> SortedSet<T> of(Comparator<? super T> comparator, T[] elements) {
+        SortedSetImpl<T> empty = new SortedSetImpl<>(comparator, null);
+        return empty.create(empty.addAllValue(null, Collection.of(elements)));
+    }
+
+    @Override
+    protected T key(T e) {
+        return e;
+    }
+
+    @Override
+    protected boolean replaces() {
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected SortedSetImpl<T> create(Object val) {
+        return val != value ? (val == null && comparator == Comparator.naturalOrder() ? (SortedSetImpl<T>) EMPTY : new SortedSetImpl<>(comparator, val)) : this;
+    }
+
+    @Override
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public T first() {
+        return at(0);
+    }
+
+    @Override
+    public T last() {
+        return at(size() - 1);
+    }
+
+    @Override
+    public T floor(T e) {
+        return at(floorIndex(e));
+    }
+
+    @Override
+    public T ceiling(T e) {
+        return at(ceilingIndex(e));
+    }
+
+    @Override
+    public T lower(T e) {
+        return at(lowerIndex(e));
+    }
+
+    @Override
+    public T higher(T e) {
+        return at(higherIndex(e));
+    }
+
+    @Override
+    public int rank(T e) {
+        return ceilingIndex(e);
+    }
+
+    @Override
+    public T select(int rank) {
+        return get(rank);
+    }
+
+    @Override
+    public SortedSet<T> headSet(T to) {
+        return create(headValue(to));
+    }
+
+    @Override
+    public SortedSet<T> tailSet(T from) {
+        return create(tailValue(from));
+    }
+
+    @Override
+    public SortedSet<T> subSet(T from, T to) {
+        return create(subValue(from, to));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean contains(Object e) {
+        return search(value, (T) e) >= 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return c.allMatch(this::contains);
+    }
+
+    @Override
+    public SortedSet<T> add(T e) {
+        return create(addValue(value, e));
+    }
+
+    @Override
+    public SortedSet<T> addAll(Collection<? extends T> c) {
+        return create(addAllValue(value, c));
+    }
+
+    @Override
+    public SortedSet<T> addUnique(T e) {
+        return add(e);
+    }
+
+    @Override
+    public SortedSet<T> addAllUnique(Collection<? extends T> c) {
+        return addAll(c);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public SortedSet<T> remove(Object e) {
+        return create(removeKeyValue(value, (T) e));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public SortedSet<T> removeAll(Collection<?> c) {
+        Object v = value;
+        for (Object e : c) {
+            v = removeKeyValue(v, (T) e);
+        }
+        return create(v);
+    }
+
+    @Override
+    public SortedSet<T> retainAll(Collection<?> c) {
+        Set<?> retain = c.asSet();
+        return removeAll(filter(e -> !retain.contains(e)).asList());
+    }
+
+    @Override
+    public SortedSet<T> replace(Object pre, T post) {
+        return contains(pre) ? remove(pre).add(post) : this;
+    }
+
+    @Override
+    public SortedSet<T> replaceFirst(Object pre, T post) {
+        return replace(pre, post);
+    }
+
+    @Override
+    public SortedSet<T> clear() {
+        return create(null);
+    }
+
+    @Override
+    public SortedSet<T> merge(SortedSet<T>[] branches, int length) {
+        Object[] result = {value};
+        for (int i = 0; i < length; i++) {
+            diff((SortedSetImpl<T>) branches[i], (e1, e2) -> result[0] = e2 == null ? removeKeyValue(result[0], e1) : addValue(result[0], e2));
+        }
+        return create(result[0]);
+    }
+
+    @Override
+    public SortedSet<T> getMerger() {
+        return create(null);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Class<SortedSet> getMeetClass() {
+        return SortedSet.class;
+    }
+
+    private void writeObject(ObjectOutputStream s) throws IOException {
+        Serializer.wrap(s, this::javaSerialize);
+    }
+
+    private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+        Deserializer.wrap(s, this::javaDeserialize);
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        s.writeObject(comparator);
+        s.writeInt(size());
+        for (T e : this) {
+            s.writeObject(e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "unused"})
+    private static <T> SortedSet<T> deserialize(Deserializer s) {
+        Comparator<? super T> comparator = (Comparator<? super T>) s.readObject();
+        T[] elements = (T[]) s.readArray(new Object[]{});
+        return of(comparator, elements);
+    }
+
+}
@@ -0,0 +1,57 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.function.Function;
+
+import org.modelingvalue.collections.ContainingCollection;
+import org.modelingvalue.collections.Transient;
+
+public abstract class TransientImpl<T, C extends ContainingCollection<?>> implements Transient<C> {
+
+    private final HashCollectionImpl<T> source;
+    protected Object                    value;
+    protected Object                    owner = new Object();
+
+    protected TransientImpl(HashCollectionImpl<T> source) {
+        this.source = source;
+        this.value = source.value;
+    }
+
+    protected final Function<T, Object> key() {
+        return source.key();
+    }
+
+    @Override
+    public int size() {
+        return TreeCollectionImpl.size(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public C persistent() {
+        owner = new Object();
+        return (C) source.create(value);
+    }
+
+    @Override
+    public String toString() {
+        String type = getClass().getSimpleName();
+        return type.substring(0, type.length() - 4) + "[" + size() + "]";
+    }
+
+}
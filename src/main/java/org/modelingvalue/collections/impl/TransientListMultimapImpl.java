@@ -0,0 +1,103 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.ArrayList;
+
+import org.modelingvalue.collections.List;
+import org.modelingvalue.collections.ListMultimap;
+import org.modelingvalue.collections.TransientListMultimap;
+
+public class TransientListMultimapImpl<K, V> extends TransientMultimapImpl<K, V, List<V>, ListMultimap<K, V>> implements TransientListMultimap<K, V> {
+
+    public TransientListMultimapImpl(ListMultimapImpl<K, V> source) {
+        super(source);
+    }
+
+    @Override
+    protected Editor<V, List<V>> editor(List<V> values) {
+        return new ListEditor<>(values);
+    }
+
+    @Override
+    public TransientListMultimap<K, V> put(K key, V value) {
+        putValue(key, value);
+        return this;
+    }
+
+    @Override
+    public TransientListMultimap<K, V> putAll(K key, Iterable<? extends V> values) {
+        putAllValues(key, values);
+        return this;
+    }
+
+    @Override
+    public TransientListMultimap<K, V> remove(K key, V value) {
+        removeValue(key, value);
+        return this;
+    }
+
+    @Override
+    public TransientListMultimap<K, V> removeKey(K key) {
+        removeKeyValues(key);
+        return this;
+    }
+
+    private static final class ListEditor<V> implements Editor<V, List<V>> {
+
+        private List<V>            list;
+        private final ArrayList<V> tail = new ArrayList<>();
+
+        private ListEditor(List<V> list) {
+            this.list = list;
+        }
+
+        @Override
+        public boolean add(V value) {
+            tail.add(value);
+            return true;
+        }
+
+        @Override
+        public boolean remove(Object value) {
+            List<V> pre = persistent();
+            list = pre.remove(value);
+            return list != pre;
+        }
+
+        @Override
+        public boolean contains(Object value) {
+            return tail.contains(value) || list.contains(value);
+        }
+
+        @Override
+        public int size() {
+            return list.size() + tail.size();
+        }
+
+        @Override
+        public List<V> persistent() {
+            if (!tail.isEmpty()) {
+                list = list.appendList(List.of(tail));
+                tail.clear();
+            }
+            return list;
+        }
+
+    }
+
+}
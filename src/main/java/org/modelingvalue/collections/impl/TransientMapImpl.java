@@ -0,0 +1,66 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.TransientMap;
+
+public class TransientMapImpl<K, V> extends TransientImpl<Entry<K, V>, Map<K, V>> implements TransientMap<K, V> {
+
+    public TransientMapImpl(MapImpl<K, V> source) {
+        super(source);
+    }
+
+    @Override
+    public TransientMap<K, V> put(K key, V val) {
+        value = HashCollectionImpl.putValueOwned(owner, value, key(), key, val);
+        return this;
+    }
+
+    @Override
+    public TransientMap<K, V> put(Entry<K, V> entry) {
+        value = HashCollectionImpl.putOwned(owner, value, key(), entry);
+        return this;
+    }
+
+    @Override
+    public TransientMap<K, V> putAll(Iterable<? extends Entry<K, V>> entries) {
+        for (Entry<K, V> entry : entries) {
+            value = HashCollectionImpl.putOwned(owner, value, key(), entry);
+        }
+        return this;
+    }
+
+    @Override
+    public TransientMap<K, V> removeKey(K key) {
+        value = HashCollectionImpl.removeOwned(owner, value, key(), key);
+        return this;
+    }
+
+    @Override
+    public V get(K key) {
+        Entry<K, V> entry = getEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public Entry<K, V> getEntry(K key) {
+        return HashCollectionImpl.get(value, key(), key);
+    }
+
+}
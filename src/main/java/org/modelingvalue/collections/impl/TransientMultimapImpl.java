@@ -0,0 +1,130 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import java.util.HashMap;
+
+import org.modelingvalue.collections.ContainingCollection;
+import org.modelingvalue.collections.Transient;
+import org.modelingvalue.collections.TransientMap;
+
+public abstract class TransientMultimapImpl<K, V, C extends ContainingCollection<V>, M> implements Transient<M> {
+
+    protected interface Editor<V, C> {
+
+        boolean add(V value);
+
+        boolean remove(Object value);
+
+        boolean contains(Object value);
+
+        int size();
+
+        C persistent();
+
+    }
+
+    private final MultimapImpl<K, V, C>     source;
+    private final TransientMap<K, C>        map;
+    private final HashMap<K, Editor<V, C>>  editors = new HashMap<>();
+    private int                             size;
+
+    protected TransientMultimapImpl(MultimapImpl<K, V, C> source) {
+        this.source = source;
+        this.map = source.map.toTransient();
+        this.size = source.size;
+    }
+
+    protected abstract Editor<V, C> editor(C values);
+
+    private Editor<V, C> edit(K key) {
+        return editors.computeIfAbsent(key, k -> {
+            C values = map.get(k);
+            return editor(values != null ? values : source.empty());
+        });
+    }
+
+    protected void putValue(K key, V value) {
+        if (edit(key).add(value)) {
+            size++;
+        }
+    }
+
+    protected void putAllValues(K key, Iterable<? extends V> values) {
+        Editor<V, C> editor = edit(key);
+        for (V value : values) {
+            if (editor.add(value)) {
+                size++;
+            }
+        }
+    }
+
+    protected void removeValue(K key, Object value) {
+        if ((editors.containsKey(key) || map.containsKey(key)) && edit(key).remove(value)) {
+            size--;
+        }
+    }
+
+    protected void removeKeyValues(K key) {
+        Editor<V, C> editor = editors.remove(key);
+        C values = map.get(key);
+        if (editor != null) {
+            size -= editor.size();
+        } else if (values != null) {
+            size -= values.size();
+        }
+        if (values != null) {
+            map.removeKey(key);
+        }
+    }
+
+    public boolean contains(K key, V value) {
+        Editor<V, C> editor = editors.get(key);
+        if (editor != null) {
+            return editor.contains(value);
+        }
+        C values = map.get(key);
+        return values != null && values.contains(value);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public M persistent() {
+        for (java.util.Map.Entry<K, Editor<V, C>> e : editors.entrySet()) {
+            C values = e.getValue().persistent();
+            if (values.isEmpty()) {
+                map.removeKey(e.getKey());
+            } else {
+                map.put(e.getKey(), values);
+            }
+        }
+        editors.clear();
+        return (M) source.create(map.persistent(), size);
+    }
+
+    @Override
+    public String toString() {
+        String type = getClass().getSimpleName();
+        return type.substring(0, type.length() - 4) + "[" + size() + "]";
+    }
+
+}
@@ -0,0 +1,51 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import org.modelingvalue.collections.QualifiedSet;
+import org.modelingvalue.collections.TransientQualifiedSet;
+
+public class TransientQualifiedSetImpl<K, V> extends TransientImpl<V, QualifiedSet<K, V>> implements TransientQualifiedSet<K, V> {
+
+    public TransientQualifiedSetImpl(QualifiedSetImpl<K, V> source) {
+        super(source);
+    }
+
+    @Override
+    public TransientQualifiedSet<K, V> add(V e) {
+        value = HashCollectionImpl.addOwned(owner, value, key(), e);
+        return this;
+    }
+
+    @Override
+    public TransientQualifiedSet<K, V> put(V e) {
+        value = HashCollectionImpl.putOwned(owner, value, key(), e);
+        return this;
+    }
+
+    @Override
+    public TransientQualifiedSet<K, V> removeKey(K key) {
+        value = HashCollectionImpl.removeOwned(owner, value, key(), key);
+        return this;
+    }
+
+    @Override
+    public V get(K key) {
+        return HashCollectionImpl.get(value, key(), key);
+    }
+
+}
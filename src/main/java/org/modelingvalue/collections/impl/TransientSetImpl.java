@@ -0,0 +1,53 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.TransientSet;
+
+public class TransientSetImpl<T> extends TransientImpl<T, Set<T>> implements TransientSet<T> {
+
+    public TransientSetImpl(SetImpl<T> source) {
+        super(source);
+    }
+
+    @Override
+    public TransientSet<T> add(T e) {
+        value = HashCollectionImpl.addOwned(owner, value, key(), e);
+        return this;
+    }
+
+    @Override
+    public TransientSet<T> addAll(Iterable<? extends T> es) {
+        for (T e : es) {
+            value = HashCollectionImpl.addOwned(owner, value, key(), e);
+        }
+        return this;
+    }
+
+    @Override
+    public TransientSet<T> remove(Object e) {
+        value = HashCollectionImpl.removeOwned(owner, value, key(), e);
+        return this;
+    }
+
+    @Override
+    public boolean contains(Object e) {
+        return HashCollectionImpl.get(value, key(), e) != null;
+    }
+
+}
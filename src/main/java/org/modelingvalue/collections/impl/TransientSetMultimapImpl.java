@@ -0,0 +1,96 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.impl;
+
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.SetMultimap;
+import org.modelingvalue.collections.TransientSet;
+import org.modelingvalue.collections.TransientSetMultimap;
+
+public class TransientSetMultimapImpl<K, V> extends TransientMultimapImpl<K, V, Set<V>, SetMultimap<K, V>> implements TransientSetMultimap<K, V> {
+
+    public TransientSetMultimapImpl(SetMultimapImpl<K, V> source) {
+        super(source);
+    }
+
+    @Override
+    protected Editor<V, Set<V>> editor(Set<V> values) {
+        return new SetEditor<>(values.toTransient());
+    }
+
+    @Override
+    public TransientSetMultimap<K, V> put(K key, V value) {
+        putValue(key, value);
+        return this;
+    }
+
+    @Override
+    public TransientSetMultimap<K, V> putAll(K key, Iterable<? extends V> values) {
+        putAllValues(key, values);
+        return this;
+    }
+
+    @Override
+    public TransientSetMultimap<K, V> remove(K key, V value) {
+        removeValue(key, value);
+        return this;
+    }
+
+    @Override
+    public TransientSetMultimap<K, V> removeKey(K key) {
+        removeKeyValues(key);
+        return this;
+    }
+
+    private static final class SetEditor<V> implements Editor<V, Set<V>> {
+
+        private final TransientSet<V> set;
+
+        private SetEditor(TransientSet<V> set) {
+            this.set = set;
+        }
+
+        @Override
+        public boolean add(V value) {
+            int size = set.size();
+            return set.add(value).size() != size;
+        }
+
+        @Override
+        public boolean remove(Object value) {
+            int size = set.size();
+            return set.remove(value).size() != size;
+        }
+
+        @Override
+        public boolean contains(Object value) {
+            return set.contains(value);
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+
+        @Override
+        public Set<V> persistent() {
+            return set.persistent();
+        }
+
+    }
+
+}
@@ -330,45 +330,43 @@ public abstract class TreeCollectionImpl<T> extends CollectionImpl<T> implements
         public Spliterator<T> trySplit() {
             if (max - min > 1 && TreeCollectionImpl.split(size)) {
                 MultiValue multi = (MultiValue) value;
-                int half = size / 2;
-                int amount = 0;
-                for (int i = min; i < max - 1;) {
-                    amount += size(multi.values[i++]);
-                    if (amount >= half && amount < size) {
-                        Spliterator<T> prefix;
-                        if (reverse) {
-                            if (max - i == 1) {
-                                Object element = multi.values[i];
-                                prefix = split(element, 0, length(element), size - amount, true);
-                            } else {
-                                prefix = split(multi, i, max, size - amount, true);
-                            }
-                            if (i - min == 1) {
-                                value = multi.values[min];
-                                min = 0;
-                                max = length(value);
-                            } else {
-                                max = i;
-                            }
-                            size = amount;
+                int start = multi.offset(min);
+                int i = multi.child(start + size / 2 - 1) + 1;
+                int amount = multi.offset(i) - start;
+                if (i < max && amount < size) {
+                    Spliterator<T> prefix;
+                    if (reverse) {
+                        if (max - i == 1) {
+                            Object element = multi.values[i];
+                            prefix = split(element, 0, length(element), size - amount, true);
                         } else {
-                            if (i - min == 1) {
-                                Object element = multi.values[min];
-                                prefix = split(element, 0, length(element), amount, false);
-                            } else {
-                                prefix = split(multi, min, i, amount, false);
-                            }
-                            if (max - i == 1) {
-                                value = multi.values[i];
-                                min = 0;
-                                max = length(value);
-                            } else {
-                                min = i;
-                            }
-                            size -= amount;
+                            prefix = split(multi, i, max, size - amount, true);
                         }
-                        return prefix;
+                        if (i - min == 1) {
+                            value = multi.values[min];
+                            min = 0;
+                            max = length(value);
+                        } else {
+                            max = i;
+                        }
+                        size = amount;
+                    } else {
+                        if (i - min == 1) {
+                            Object element = multi.values[min];
+                            prefix = split(element, 0, length(element), amount, false);
+                        } else {
+                            prefix = split(multi, min, i, amount, false);
+                        }
+                        if (max - i == 1) {
+                            value = multi.values[i];
+                            min = 0;
+                            max = length(value);
+                        } else {
+                            min = i;
+                        }
+                        size -= amount;
                     }
+                    return prefix;
                 }
             }
             return null;
@@ -395,6 +393,19 @@ public abstract class TreeCollectionImpl<T> extends CollectionImpl<T> implements
             index[0] = cursor;
         }
 
+        // positioned before element position, where 0 <= position < size(value)
+        private static <T> CollectionIterator<T> at(Object value, int position) {
+            CollectionIterator<T> it = new CollectionIterator<>(value, 0);
+            while (it.stack[it.level] instanceof MultiValue) {
+                MultiValue mv = (MultiValue) it.stack[it.level];
+                int i = mv.child(position);
+                position -= mv.offset(i);
+                it.index[it.level] = i;
+                it.stack[++it.level] = mv.values[i];
+            }
+            return it;
+        }
+
         @Override
         public boolean hasNext() {
             while (true) {
@@ -502,6 +513,29 @@ public abstract class TreeCollectionImpl<T> extends CollectionImpl<T> implements
 
         protected abstract boolean equalsWithStop(Object obj, boolean[] stop);
 
+        /**
+         * Returns the index of the child that holds element idx, where 0 <= idx < size.
+         */
+        protected int child(int idx) {
+            int i = 0;
+            int len = size(values[0]);
+            while (len <= idx) {
+                len += size(values[++i]);
+            }
+            return i;
+        }
+
+        /**
+         * Returns the number of elements in the children before child i, where 0 <= i <= values.length.
+         */
+        protected int offset(int i) {
+            int len = 0;
+            for (int ii = 0; ii < i; ii++) {
+                len += size(values[ii]);
+            }
+            return len;
+        }
+
         @Override
         public boolean equals(Object obj) {
             return equalsWithStop(obj, new boolean[1]);
@@ -561,15 +595,12 @@ public abstract class TreeCollectionImpl<T> extends CollectionImpl<T> implements
         outer:
         while (true) {
             if (obj instanceof MultiValue) {
-                int len = 0;
-                for (Object val : ((MultiValue) obj).values) {
-                    int valSize = size(val);
-                    if (len + valSize > idx) {
-                        obj = val;
-                        idx = idx - len;
-                        continue outer;
-                    }
-                    len += valSize;
+                MultiValue mv = (MultiValue) obj;
+                if (idx < mv.size) {
+                    int i = mv.child(idx);
+                    obj = mv.values[i];
+                    idx = idx - mv.offset(i);
+                    continue outer;
                 }
             } else if (obj != null && idx == 0) {
                 return obj;
@@ -610,20 +641,90 @@ public abstract class TreeCollectionImpl<T> extends CollectionImpl<T> implements
 
     @Override
     public <R> Collection<R> linked(TriFunction<T, T, T, R> function) {
-        int size = size();
-        return Collection.of(getIntStream(0, size, new boolean[1], size)).map(i -> function.apply(i > 0 ? get(i - 1) : null, get(i), i < size - 1 ? get(i + 1) : null));
+        return Collection.of(new WindowSpliterator<T, R>(value, 0, size(value), (p, e, n, i) -> function.apply(p, e, n)));
     }
 
     @Override
     public void linked(TriConsumer<T, T, T> consumer) {
-        int size = size();
-        Collection.of(getIntStream(0, size, new boolean[1], size)).forEachOrdered(i -> consumer.accept(i > 0 ? get(i - 1) : null, get(i), i < size - 1 ? get(i + 1) : null));
+        if (value != null) {
+            Iterator<T> it = iterator();
+            T prev = null, e = it.next();
+            while (it.hasNext()) {
+                T next = it.next();
+                consumer.accept(prev, e, next);
+                prev = e;
+                e = next;
+            }
+            consumer.accept(prev, e, null);
+        }
     }
 
     @Override
     public <R> Collection<R> indexed(BiFunction<T, Integer, R> function) {
-        int size = size();
-        return Collection.of(getIntStream(0, size, new boolean[1], size)).map(i -> function.apply(get(i), i));
+        return Collection.of(new WindowSpliterator<T, R>(value, 0, size(value), (p, e, n, i) -> function.apply(e, i)));
+    }
+
+    // walks positions min..max with their neighbours, every split part descends the tree once and then iterates
+    private static final class WindowSpliterator<T, R> implements Spliterator<R> {
+        private static final int                        WINDOW_CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+
+        private final Object                            value;
+        private final int                               size;
+        private final QuadFunction<T, T, T, Integer, R> function;
+        private int                                     min, max;
+        private CollectionIterator<T>                   iterator;
+        private T                                       prev, next;
+
+        private WindowSpliterator(Object value, int min, int max, QuadFunction<T, T, T, Integer, R> function) {
+            this.value = value;
+            this.size = size(value);
+            this.min = min;
+            this.max = max;
+            this.function = function;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            if (min < max) {
+                T e;
+                if (iterator == null) {
+                    iterator = CollectionIterator.at(value, min > 0 ? min - 1 : 0);
+                    prev = min > 0 ? iterator.next() : null;
+                    e = iterator.next();
+                } else {
+                    e = next;
+                }
+                next = min + 1 < size ? iterator.next() : null;
+                action.accept(function.apply(prev, e, next, min));
+                prev = e;
+                min++;
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            int delta = max - min;
+            if (iterator == null && delta > 1 && split(delta)) {
+                int half = min + delta / 2;
+                Spliterator<R> prefix = new WindowSpliterator<>(value, min, half, function);
+                min = half;
+                return prefix;
+            }
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return max - min;
+        }
+
+        @Override
+        public int characteristics() {
+            return WINDOW_CHARACTERISTICS;
+        }
     }
 
     @SuppressWarnings("unchecked")
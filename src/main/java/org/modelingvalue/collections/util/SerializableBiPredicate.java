@@ -0,0 +1,44 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.util;
+
+import java.util.function.BiPredicate;
+
+@FunctionalInterface
+public interface SerializableBiPredicate<T, U> extends BiPredicate<T, U>, LambdaReflection {
+
+    @Override
+    default SerializableBiPredicateImpl<T, U> of() {
+        return this instanceof SerializableBiPredicateImpl ? (SerializableBiPredicateImpl<T, U>) this : new SerializableBiPredicateImpl<>(this);
+    }
+
+    class SerializableBiPredicateImpl<T, U> extends LambdaImpl<SerializableBiPredicate<T, U>> implements SerializableBiPredicate<T, U> {
+
+        private static final long serialVersionUID = -3370925582137648120L;
+
+        public SerializableBiPredicateImpl(SerializableBiPredicate<T, U> f) {
+            super(f);
+        }
+
+        @Override
+        public final boolean test(T t, U u) {
+            return f.test(t, u);
+        }
+
+    }
+
+}
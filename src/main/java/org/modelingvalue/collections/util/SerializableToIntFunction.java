@@ -0,0 +1,44 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.util;
+
+import java.util.function.ToIntFunction;
+
+@FunctionalInterface
+public interface SerializableToIntFunction<T> extends ToIntFunction<T>, LambdaReflection {
+
+    @Override
+    default SerializableToIntFunctionImpl<T> of() {
+        return this instanceof SerializableToIntFunctionImpl ? (SerializableToIntFunctionImpl<T>) this : new SerializableToIntFunctionImpl<>(this);
+    }
+
+    class SerializableToIntFunctionImpl<T> extends LambdaImpl<SerializableToIntFunction<T>> implements SerializableToIntFunction<T> {
+
+        private static final long serialVersionUID = 2981034729102647345L;
+
+        public SerializableToIntFunctionImpl(SerializableToIntFunction<T> f) {
+            super(f);
+        }
+
+        @Override
+        public final int applyAsInt(T t) {
+            return f.applyAsInt(t);
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.Bag;
+import org.modelingvalue.collections.Set;
+
+public class BagTest {
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(15);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Bag<Integer> bag = Bag.of();
+        int total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            Integer e = random.nextInt(2_000);
+            int n = random.nextInt(7) - 3;
+            int pre = expected.getOrDefault(e, 0);
+            int post = Math.max(pre + n, 0);
+            total += post - pre;
+            if (post == 0) {
+                expected.remove(e);
+            } else {
+                expected.put(e, post);
+            }
+            bag = bag.add(e, n);
+            assertEquals(post, bag.count(e));
+        }
+        assertEquals(total, bag.size());
+        assertEquals(expected.size(), bag.distinctSize());
+        HashMap<Integer, Integer> actual = new HashMap<>();
+        bag.forEach((e, c) -> actual.put(e, c));
+        assertEquals(expected, actual);
+        assertEquals(expected.keySet(), bag.toSet().toMutable());
+        Bag<Integer> rebuilt = Bag.of();
+        for (Integer e : expected.keySet()) {
+            rebuilt = rebuilt.setCount(e, expected.get(e));
+        }
+        assertEquals(bag, rebuilt);
+        assertEquals(bag.hashCode(), rebuilt.hashCode());
+        assertSame(bag, bag.add(-1, 0).remove(-1));
+        assertTrue(bag.clear().isEmpty());
+    }
+
+    @Test
+    public void collisionTest() {
+        Bag<String> bag = Bag.of("Aa", "BB", "Aa", "AaAa", "BBBB", "AaBB");
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals(2, bag.count("Aa"));
+        assertEquals(1, bag.count("BB"));
+        assertEquals(6, bag.size());
+        assertEquals(5, bag.distinctSize());
+        Bag<String> other = Bag.of("AaBB", "BBBB", "AaAa", "Aa", "BB", "Aa");
+        assertEquals(bag, other);
+        assertEquals(bag.remove("BB"), other.setCount("BB", 0));
+        assertNotEquals(bag, other.add("BB"));
+        assertFalse(bag.remove("AaAa").contains("AaAa"));
+        assertEquals(Set.of("Aa", "BB", "AaAa", "BBBB", "AaBB"), bag.toSet());
+        assertEquals(Bag.of("a", "b", "a", "c"), Bag.of("a", "b").addAll(Bag.of("a", "c")));
+        assertEquals(Bag.of("a", "b", "a", "c"), Bag.<String> of().addAll(java.util.List.of("a", "b", "a", "c")));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void mergeTest() {
+        Bag<String> base = Bag.<String> of().add("a", 5).add("b", 2).add("c", 1);
+        Bag<String> branch1 = base.add("a", 3).remove("b").add("d", 4);
+        Bag<String> branch2 = base.add("a", 1).remove("b").remove("c");
+        Bag<String> branch3 = base.remove("c").add("d", 1);
+        Bag<String> merged = base.merge(new Bag[]{branch1, branch2, branch3});
+        assertEquals(9, merged.count("a"));
+        assertEquals(0, merged.count("b"));
+        assertEquals(0, merged.count("c"));
+        assertEquals(5, merged.count("d"));
+        assertEquals(14, merged.size());
+        assertSame(base, base.merge(base, base));
+        assertEquals(branch1, base.merge(branch1, base));
+    }
+
+}
@@ -0,0 +1,103 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.BiMap;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.util.NotMergeableException;
+
+public class BiMapTest {
+
+    @Test
+    public void inverseTest() {
+        BiMap<String, Integer> map = BiMap.of(Entry.of("a", 1), Entry.of("b", 2), Entry.of("c", 3));
+        BiMap<Integer, String> inverse = map.inverse();
+        assertSame(inverse, map.inverse());
+        assertSame(map, inverse.inverse());
+        assertEquals("b", inverse.get(2));
+        assertEquals(Integer.valueOf(2), inverse.getKey("b"));
+        assertEquals(Set.of(1, 2, 3), inverse.toKeys().asSet());
+        assertThrows(IllegalArgumentException.class, () -> map.put("d", 1));
+        assertSame(map, map.put("a", 1));
+        BiMap<String, Integer> forced = map.forcePut("d", 1);
+        assertEquals(3, forced.size());
+        assertFalse(forced.containsKey("a"));
+        assertEquals("d", forced.getKey(1));
+        BiMap<String, Integer> moved = map.put("a", 4);
+        assertFalse(moved.containsValue(1));
+        assertEquals("a", moved.getKey(4));
+        assertEquals(map.removeKey("b"), map.removeValue(2));
+        assertEquals(BiMap.of(Entry.of(1, "a"), Entry.of(3, "c")), inverse.removeKey(2));
+        assertTrue(map.clear().isEmpty());
+    }
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(16);
+        HashMap<Integer, Integer> forward = new HashMap<>();
+        HashMap<Integer, Integer> backward = new HashMap<>();
+        BiMap<Integer, Integer> map = BiMap.of();
+        for (int i = 0; i < 20_000; i++) {
+            Integer k = random.nextInt(500), v = random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                Integer pre = forward.remove(k);
+                if (pre != null) {
+                    backward.remove(pre);
+                }
+                map = map.removeKey(k);
+            } else {
+                Integer preValue = forward.remove(k);
+                if (preValue != null) {
+                    backward.remove(preValue);
+                }
+                Integer preKey = backward.remove(v);
+                if (preKey != null) {
+                    forward.remove(preKey);
+                }
+                forward.put(k, v);
+                backward.put(v, k);
+                map = map.forcePut(k, v);
+            }
+        }
+        assertEquals(forward, map.asMap().toMutable());
+        assertEquals(backward, map.inverse().asMap().toMutable());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void mergeTest() {
+        BiMap<String, Integer> base = BiMap.of(Entry.of("a", 1), Entry.of("b", 2));
+        BiMap<String, Integer> branch1 = base.put("c", 3).removeKey("a");
+        BiMap<String, Integer> branch2 = base.put("b", 4).put("d", 5);
+        BiMap<String, Integer> merged = base.merge(branch1, branch2);
+        assertEquals(BiMap.of(Entry.of("b", 4), Entry.of("c", 3), Entry.of("d", 5)), merged);
+        assertEquals("b", merged.getKey(4));
+        assertFalse(merged.containsValue(2));
+        assertEquals(merged.inverse().asMap(), merged.inverse().inverse().inverse().asMap());
+        assertThrows(NotMergeableException.class, () -> base.merge(base.put("c", 9), base.put("d", 9)));
+        assertThrows(NotMergeableException.class, () -> base.merge(new BiMap[]{base.put("c", 3), base.removeKey("a").put("a", 3), base}));
+        assertEquals(BiMap.of(Entry.of("b", 2), Entry.of("c", 1)), base.merge(base.removeKey("a"), base.forcePut("c", 1)));
+    }
+
+}
@@ -0,0 +1,134 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.BitSet;
+import org.modelingvalue.collections.Set;
+
+public class BitSetTest {
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(17);
+        java.util.BitSet expected = new java.util.BitSet();
+        BitSet set = BitSet.of();
+        for (int i = 0; i < 50_000; i++) {
+            int e = random.nextInt(i % 3 == 0 ? 100_000 : 3_000);
+            if (random.nextInt(3) == 0) {
+                expected.clear(e);
+                set = set.remove(e);
+            } else {
+                expected.set(e);
+                set = set.add(e);
+            }
+            assertEquals(expected.get(e), set.contains(e));
+        }
+        assertEquals(expected.cardinality(), set.cardinality());
+        assertArrayEquals(expected.stream().toArray(), set.toArray());
+        assertArrayEquals(expected.stream().toArray(), set.stream().toArray());
+        assertEquals(expected.nextSetBit(12_345), set.nextSetBit(12_345));
+        assertEquals(set, BitSet.of(set.toArray()));
+        assertEquals(set.hashCode(), set.toSet().hashCode());
+        BitSet small = set;
+        for (int e : set.toArray()) {
+            if (e >= 2_048) {
+                small = small.remove(e);
+            }
+        }
+        assertEquals(BitSet.of(expected.get(0, 2_048).stream().toArray()), small);
+        assertFalse(set.contains(-1));
+        assertThrows(IllegalArgumentException.class, () -> BitSet.of().add(-1));
+        assertTrue(BitSet.of(Integer.MAX_VALUE).contains(Integer.MAX_VALUE));
+        assertEquals(BitSet.of(0), BitSet.of(0, Integer.MAX_VALUE).remove(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void bulkTest() {
+        Random random = new Random(71);
+        for (int r = 0; r < 20; r++) {
+            java.util.BitSet a = new java.util.BitSet(), b = new java.util.BitSet();
+            for (int i = 0; i < 5_000; i++) {
+                a.set(random.nextInt(r * 5_000 + 100));
+                b.set(random.nextInt(r % 2 == 0 ? 200_000 : 2_000));
+            }
+            BitSet sa = BitSet.of(a.stream().toArray()), sb = BitSet.of(b.stream().boxed().toList());
+            java.util.BitSet e = (java.util.BitSet) a.clone();
+            e.or(b);
+            assertArrayEquals(e.stream().toArray(), sa.addAll(sb).toArray());
+            e = (java.util.BitSet) a.clone();
+            e.and(b);
+            assertArrayEquals(e.stream().toArray(), sa.retainAll(sb).toArray());
+            assertEquals(e.cardinality(), sa.retainAll(sb).cardinality());
+            e = (java.util.BitSet) a.clone();
+            e.andNot(b);
+            assertArrayEquals(e.stream().toArray(), sa.removeAll(sb).toArray());
+            e = (java.util.BitSet) a.clone();
+            e.xor(b);
+            assertEquals(BitSet.of(e.stream().toArray()), sa.exclusiveAll(sb));
+        }
+        BitSet evens = BitSet.of(Set.of(0, 2, 4, 6));
+        assertSame(evens, evens.addAll(BitSet.of(2, 4)));
+        assertSame(evens, evens.retainAll(evens));
+        assertTrue(evens.exclusiveAll(evens).isEmpty());
+        assertEquals(Set.of(0, 2, 4, 6), evens.toSet());
+        java.util.Set<Integer> view = evens.asJavaSet();
+        assertEquals(java.util.Set.of(0, 2, 4, 6), view);
+        assertEquals(java.util.Set.of(0, 2, 4, 6).hashCode(), view.hashCode());
+        assertEquals(4, view.size());
+        assertTrue(view.contains(4));
+        assertFalse(view.contains(5));
+        assertFalse(view.contains(-2));
+        assertFalse(view.contains("4"));
+        assertEquals(java.util.List.of(0, 2, 4, 6), new java.util.ArrayList<>(view));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(8));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(2));
+        assertTrue(BitSet.of().asJavaSet().isEmpty());
+    }
+
+    @Test
+    public void rangeTest() {
+        BitSet a = BitSet.range(0, 1_000_000);
+        BitSet b = BitSet.range(500_000, 1_500_000);
+        assertEquals(1_000_000, a.cardinality());
+        assertEquals(1_500_000, a.addAll(b).cardinality());
+        assertEquals(500_000, a.retainAll(b).cardinality());
+        assertEquals(BitSet.range(500_000, 1_000_000), a.retainAll(b));
+        assertEquals(BitSet.range(0, 500_000).addAll(BitSet.range(1_000_000, 1_500_000)), a.exclusiveAll(b));
+        assertEquals(BitSet.of(63, 64, 65), BitSet.range(63, 66));
+        assertTrue(BitSet.range(5, 5).isEmpty());
+        BitSet c = a.add(1_000_001);
+        assertSame(a.addAll(c).retainAll(a), a.retainAll(c));
+    }
+
+    @Test
+    public void mergeTest() {
+        BitSet base = BitSet.of(1, 2, 3, 5_000);
+        BitSet branch1 = base.remove(2).add(10);
+        BitSet branch2 = base.remove(5_000).add(100_000);
+        BitSet branch3 = base.add(10).remove(3);
+        BitSet merged = base.merge(new BitSet[]{branch1, branch2, branch3});
+        assertEquals(BitSet.of(1, 10, 100_000), merged);
+        assertSame(base, base.merge(base, base));
+        assertEquals(BitSet.of(), BitSet.of(1).merge(BitSet.of(), BitSet.of(1)));
+    }
+
+}
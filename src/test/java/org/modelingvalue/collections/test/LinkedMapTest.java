@@ -0,0 +1,65 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.LinkedMap;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.Set;
+
+public class LinkedMapTest {
+
+    @Test
+    public void orderTest() {
+        LinkedMap<String, Integer> map = LinkedMap.of();
+        java.util.List<String> keys = new ArrayList<>();
+        for (int i = 1_000; i > 0; i--) {
+            map = map.put("k" + i, i);
+            keys.add("k" + i);
+        }
+        assertEquals(keys, map.toKeys().toList());
+        assertEquals(Integer.valueOf(17), map.get("k17"));
+        assertSame(map, map.put("k17", 17));
+        LinkedMap<String, Integer> changed = map.put("k17", -17);
+        assertEquals(keys, changed.toKeys().toList());
+        assertEquals(Integer.valueOf(-17), changed.get("k17"));
+        assertEquals(Entry.of("k1000", 1000), map.first());
+        assertEquals(Entry.of("k1", 1), map.last());
+        assertEquals(Entry.of("k500", 500), map.removeKey("k500").put("k500", 500).last());
+        assertTrue(map.contains(Entry.of("k3", 3)));
+        assertFalse(map.contains(Entry.of("k3", 4)));
+        assertEquals(998, map.removeAllKey(Set.of("k3", "k4", "x")).size());
+        assertEquals(map.toMap(), Map.of(map.toArray(Entry[]::new)));
+        assertEquals(LinkedMap.of(Entry.of("b", 2), Entry.of("a", 3)), LinkedMap.of(Entry.of("b", 1), Entry.of("a", 3), Entry.of("b", 2)));
+    }
+
+    @Test
+    public void mergeTest() {
+        LinkedMap<String, Integer> base = LinkedMap.of(Entry.of("a", 1), Entry.of("b", 2), Entry.of("c", 3));
+        LinkedMap<String, Integer> branch1 = base.removeKey("a").put("d", 4).put("c", 33);
+        LinkedMap<String, Integer> branch2 = base.put("e", 5).put("b", 22);
+        LinkedMap<String, Integer> merged = base.merge(branch1, branch2);
+        assertEquals(LinkedMap.of(Entry.of("b", 22), Entry.of("c", 33), Entry.of("d", 4), Entry.of("e", 5)), merged);
+        assertEquals(Map.of(Entry.of("b", 22), Entry.of("c", 33), Entry.of("d", 4), Entry.of("e", 5)), merged.toMap());
+    }
+
+}
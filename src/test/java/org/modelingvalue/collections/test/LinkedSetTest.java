@@ -0,0 +1,94 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.LinkedSet;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.util.ContextThread;
+
+public class LinkedSetTest {
+
+    @Test
+    public void orderTest() {
+        java.util.List<Integer> numbers = IntStream.range(0, 5_000).boxed().collect(Collectors.toCollection(ArrayList::new));
+        Collections.shuffle(numbers, new Random(3));
+        LinkedSet<Integer> set = LinkedSet.of();
+        for (Integer i : numbers) {
+            set = set.add(i);
+        }
+        assertEquals(numbers, set.toList());
+        assertSame(set, set.add(numbers.get(10)));
+        assertEquals(numbers.get(0), set.first());
+        assertEquals(numbers.get(numbers.size() - 1), set.last());
+        LinkedSet<Integer> removed = set.remove(numbers.get(10)).add(numbers.get(10));
+        assertEquals(numbers.get(10), removed.last());
+        assertEquals(set.size(), removed.size());
+        assertNotEquals(set, removed);
+        assertTrue(removed.contains(numbers.get(10)));
+        assertFalse(removed.contains(-1));
+        assertEquals(Set.of(numbers.toArray(Integer[]::new)), set.toSet());
+        java.util.List<Integer> reversed = new ArrayList<>(numbers);
+        Collections.reverse(reversed);
+        assertEquals(reversed, set.reverse().toList());
+        assertEquals(LinkedSet.of("a", "b", "c"), LinkedSet.of("a", "b", "a", "c"));
+        assertEquals(LinkedSet.of("c", "a"), LinkedSet.of("a", "b", "c", "d").retainAll(Set.of("c", "a")).removeAll(Set.of("b")).add("a").remove("a").add("a"));
+        assertEquals(LinkedSet.of(), LinkedSet.of("a").remove("a"));
+        assertEquals("LinkedSet[x,y]", LinkedSet.of("x", "y").toString());
+    }
+
+    @Test
+    public void parallelOrderTest() {
+        LinkedSet<Integer> set = LinkedSet.of();
+        for (int i = 100_000; i > 0; i--) {
+            set = set.add(i * 31);
+        }
+        LinkedSet<Integer> all = set;
+        ContextThread.createPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                java.util.List<Integer> list = all.parallel().map(i -> i / 31).collect(Collectors.toList());
+                for (int i = 0; i < list.size(); i++) {
+                    assertEquals(Integer.valueOf(100_000 - i), list.get(i));
+                }
+                assertEquals(all.toList(), Collection.of(all.spliterator()).parallel().toList());
+            }
+        });
+    }
+
+    @Test
+    public void mergeTest() {
+        LinkedSet<String> base = LinkedSet.of("a", "b", "c");
+        LinkedSet<String> branch1 = base.remove("b").add("d");
+        LinkedSet<String> branch2 = base.add("e").add("f").remove("a").add("a");
+        LinkedSet<String> merged = base.merge(branch1, branch2);
+        assertEquals(LinkedSet.of("a", "c", "d", "e", "f"), merged);
+        assertEquals(merged, base.merge(branch1, branch2.add("d")));
+        assertEquals(branch1, base.merge(branch1, base));
+    }
+
+}
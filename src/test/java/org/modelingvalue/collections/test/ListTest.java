@@ -19,8 +19,10 @@ import org.junit.jupiter.api.*;
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.List;
 import org.modelingvalue.collections.*;
+import org.modelingvalue.collections.util.ContextThread;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -56,6 +58,17 @@ public class ListTest {
     }
 
     @SuppressWarnings("unchecked")
+    @Test
+    public void collectorTest() {
+        List<Integer> collected = Collection.of(IntStream.range(0, 100_000)).asList();
+        assertEquals(100_000, collected.size());
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals(Integer.valueOf(i), collected.get(i));
+        }
+        assertEquals(List.of(1, 2, 3), Collection.of(IntStream.range(1, 4)).asList());
+        assertEquals(List.of(), Collection.of(IntStream.range(0, 0)).asList());
+    }
+
     @Test
     public void compare() {
         List<String> list1 = List.of("c", "d");
@@ -69,6 +82,42 @@ public class ListTest {
         lista.compareAll(listb, listc).forEachOrdered(a -> System.err.println(Arrays.toString(a)));
     }
 
+    @Test
+    public void positionalCompare() {
+        List<Integer> a = List.of(IntStream.range(0, 100_000).boxed().toArray(Integer[]::new));
+        List<Integer> b = a.replace(500, Integer.valueOf(-1)).insert(30_000, -2).removeIndex(70_000);
+        java.util.List<List<Integer>[]> runs = a.compare(b).collect(Collectors.toList());
+        assertEquals(3, runs.size());
+        assertEquals(List.of(500), runs.get(0)[0]);
+        assertEquals(List.of(-1), runs.get(0)[1]);
+        assertNull(runs.get(1)[0]);
+        assertEquals(List.of(-2), runs.get(1)[1]);
+        assertEquals(List.of(69_999), runs.get(2)[0]);
+        assertNull(runs.get(2)[1]);
+        assertEquals(0, a.compare(a).count());
+        assertEquals(0, a.compare(List.of(IntStream.range(0, 100_000).boxed().toArray(Integer[]::new))).count());
+        List<Integer> c = a.removeList(10, 20).appendList(List.of(1, 1));
+        runs = a.compare(c).collect(Collectors.toList());
+        assertEquals(2, runs.size());
+        assertEquals(a.sublist(10, 20), runs.get(0)[0]);
+        assertNull(runs.get(0)[1]);
+        assertEquals(List.of(1, 1), runs.get(1)[1]);
+        runs = List.<Integer> of().compare(List.of(3, 3)).collect(Collectors.toList());
+        assertEquals(1, runs.size());
+        assertNull(runs.get(0)[0]);
+        assertEquals(List.of(3, 3), runs.get(0)[1]);
+        java.util.List<int[]> diff = a.diff(b).collect(Collectors.toList());
+        assertEquals(3, diff.size());
+        assertArrayEquals(new int[]{500, 501, 500, 501}, diff.get(0));
+        assertArrayEquals(new int[]{30_000, 30_000, 30_000, 30_001}, diff.get(1));
+        assertArrayEquals(new int[]{69_999, 70_000, 70_000, 70_000}, diff.get(2));
+        diff = List.of(1, 2, 1, 2).diff(List.of(1, 3, 2, 1, 3, 2)).collect(Collectors.toList());
+        assertEquals(2, diff.size());
+        assertArrayEquals(new int[]{1, 1, 1, 2}, diff.get(0));
+        assertArrayEquals(new int[]{3, 3, 4, 5}, diff.get(1));
+        assertEquals(0, a.diff(a).count());
+    }
+
     @Test
     public void reuseTest() {
         List<String[]> ab1 = List.of(new String[]{"a"}, new String[]{"b"});
@@ -136,6 +185,215 @@ public class ListTest {
 
     }
 
+    @Test
+    public void appendRemoveLast() {
+        Random random = new Random(18);
+        java.util.List<Integer> expected = new ArrayList<>();
+        List<Integer> list = List.of();
+        for (int i = 0; i < 100_000; i++) {
+            int op = random.nextInt(10);
+            if (op < 6 || expected.isEmpty()) {
+                expected.add(i);
+                list = list.append(i);
+            } else if (op < 9) {
+                expected.remove(expected.size() - 1);
+                list = list.removeLast();
+            } else {
+                int p = random.nextInt(expected.size());
+                expected.add(p, -i);
+                list = list.insert(p, -i);
+            }
+        }
+        assertEquals(expected, list.toMutable());
+        assertEquals(expected.size(), list.size());
+        List<Integer> built = List.of(expected);
+        assertEquals(built.hashCode(), list.hashCode());
+        assertEquals(built, list);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(expected.get(expected.size() - 1 - i), list.last());
+            list = list.removeLast();
+        }
+        assertEquals(expected.subList(0, expected.size() - 1_000), list.toMutable());
+        assertThrows(IndexOutOfBoundsException.class, () -> List.of().removeLast());
+    }
+
+    @Test
+    public void bulkBuild() {
+        for (int n : new int[]{0, 1, 2, 31, 32, 33, 1_023, 1_024, 1_025, 32_768, 40_000, 100_001}) {
+            Integer[] es = IntStream.range(0, n).boxed().toArray(Integer[]::new);
+            List<Integer> appended = List.of();
+            for (Integer e : es) {
+                appended = appended.append(e);
+            }
+            List<Integer> built = List.of(es);
+            assertEquals(appended, built);
+            assertEquals(appended.hashCode(), built.hashCode());
+            assertEquals(n, built.size());
+            assertEquals(n == 0, built.isEmpty());
+            assertEquals(built, List.of(Arrays.asList(es)));
+            assertEquals(built, Collection.of(IntStream.range(0, n).boxed()).asList());
+            for (int i = 0; i < n; i += 997) {
+                assertEquals(es[i], built.get(i));
+            }
+        }
+        Integer[] large = IntStream.range(0, 200_000).boxed().toArray(Integer[]::new);
+        List<Integer> parallel = ContextThread.createPool().invoke(ForkJoinTask.adapt(() -> List.of(large)));
+        assertEquals(List.of(large), parallel);
+        assertThrows(NullPointerException.class, () -> List.of("a", null, "b"));
+    }
+
+    @Test
+    public void indexedAccess() {
+        Random rnd = new Random(7);
+        ArrayList<Integer> expected = new ArrayList<>();
+        List<Integer> list = List.of();
+        for (int i = 0; i < 20_000; i++) {
+            int pos = rnd.nextInt(expected.size() + 1);
+            expected.add(pos, i);
+            list = list.insert(pos, i);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            int b = rnd.nextInt(expected.size());
+            int e = b + rnd.nextInt(expected.size() - b + 1);
+            assertEquals(expected.get(b), list.get(b));
+            assertEquals(expected.subList(b, e), list.sublist(b, e).collect(Collectors.toList()));
+            List<Integer> removed = list.removeList(b, e);
+            assertEquals(expected.size() - (e - b), removed.size());
+            if (e < expected.size()) {
+                assertEquals(expected.get(e), removed.get(b));
+            }
+        }
+        List<Integer> full = list;
+        assertEquals(expected, full.collect(Collectors.toList()));
+        assertEquals(expected, ContextThread.createPool().invoke(ForkJoinTask.adapt(() -> full.parallel().collect(Collectors.toList()))));
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(), (long) ContextThread.createPool().invoke(ForkJoinTask.adapt(() -> full.parallel().mapToLong(Integer::longValue).sum())));
+        assertThrows(IndexOutOfBoundsException.class, () -> full.get(expected.size()));
+    }
+
+    @Test
+    public void linkedAndIndexed() {
+        Random rnd = new Random(13);
+        List<Integer> list = List.of(IntStream.range(0, 50_000).boxed().toArray(Integer[]::new));
+        for (int i = 0; i < 1_000; i++) {
+            list = list.insert(rnd.nextInt(list.size() + 1), -i);
+        }
+        org.modelingvalue.collections.Set<Integer> set = org.modelingvalue.collections.Set.of(IntStream.range(0, 30_000).boxed().toArray(Integer[]::new));
+        for (ContainingCollection<Integer> coll : Arrays.<ContainingCollection<Integer>> asList(List.of(), List.of(7), list, set)) {
+            java.util.List<Integer> elements = coll.collect(Collectors.toList());
+            java.util.List<String> expected = new ArrayList<>();
+            for (int i = 0; i < elements.size(); i++) {
+                expected.add((i > 0 ? elements.get(i - 1) : null) + "<" + elements.get(i) + ">" + (i < elements.size() - 1 ? elements.get(i + 1) : null) + "@" + i);
+            }
+            ArrayList<String> consumed = new ArrayList<>();
+            coll.linked((p, e, n) -> {
+                consumed.add(p + "<" + e + ">" + n);
+            });
+            assertEquals(expected.stream().map(w -> w.substring(0, w.indexOf('@'))).collect(Collectors.toList()), consumed);
+            assertEquals(expected, coll.linked((p, e, n) -> p + "<" + e + ">" + n).indexed((w, i) -> w + "@" + i).collect(Collectors.toList()));
+            assertEquals(expected, ContextThread.createPool().invoke(ForkJoinTask.adapt(() -> {
+                java.util.List<String> linked = coll.linked((p, e, n) -> p + "<" + e + ">" + n).collect(Collectors.toList());
+                return coll.indexed((e, i) -> linked.get(i) + "@" + i).collect(Collectors.toList());
+            })));
+        }
+    }
+
+    @Test
+    public void concatAndSplit() {
+        Random rnd = new Random(21);
+        List<Integer> piece = List.of(IntStream.range(0, 1_000).boxed().toArray(Integer[]::new));
+        ArrayList<Integer> expected = new ArrayList<>();
+        List<Integer> list = List.of();
+        for (int i = 0; i < 2_000; i++) {
+            int p = rnd.nextInt(expected.size() + 1);
+            int q = p + rnd.nextInt(Math.min(expected.size() - p, 2_000) + 1);
+            switch (rnd.nextInt(6)) {
+            case 0:
+                List<Integer> appended = piece.sublist(0, Math.min(q - p, piece.size()));
+                expected.addAll(appended.collect(Collectors.toList()));
+                list = list.appendList(appended);
+                break;
+            case 1:
+                expected.addAll(0, piece.collect(Collectors.toList()));
+                list = list.prependList(piece);
+                break;
+            case 2:
+                expected.addAll(p, piece.collect(Collectors.toList()));
+                list = list.insertList(p, piece);
+                break;
+            case 3:
+                expected.subList(p, q).clear();
+                list = list.removeList(p, q);
+                break;
+            case 4:
+                java.util.List<Integer> moved = new ArrayList<>(expected.subList(0, p));
+                expected.subList(0, p).clear();
+                expected.addAll(moved);
+                list = list.sublist(p, list.size()).appendList(list.sublist(0, p));
+                break;
+            default:
+                expected.subList(p, q).clear();
+                expected.addAll(p, piece.sublist(0, 10).collect(Collectors.toList()));
+                list = list.replaceList(p, q, piece.sublist(0, 10));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertEquals(expected, list.collect(Collectors.toList()));
+        List<Integer> built = List.of(expected.toArray(new Integer[0]));
+        assertEquals(built, list);
+        assertEquals(built.hashCode(), list.hashCode());
+        for (int i = 0; i < 10_000; i++) {
+            int p = rnd.nextInt(expected.size());
+            assertEquals(expected.get(p), list.get(p));
+        }
+        List<Integer> doubled = list.appendList(list);
+        assertEquals(2 * expected.size(), doubled.size());
+        assertEquals(list, doubled.sublist(expected.size(), doubled.size()));
+        assertEquals(list, doubled.removeList(0, expected.size()));
+    }
+
+    @Test
+    public void uniqueIndex() {
+        Random                       random   = new Random(11);
+        List<Integer>                list     = List.of();
+        java.util.List<Integer>      expected = new java.util.ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Integer e = random.nextInt(3000);
+            list = list.addUnique(e);
+            if (!expected.contains(e)) {
+                expected.add(e);
+            }
+        }
+        assertEquals(List.of(expected.toArray(new Integer[0])), list);
+        for (int i = 0; i < 2000; i++) {
+            int     op = random.nextInt(5);
+            int     p  = random.nextInt(expected.size());
+            Integer e  = random.nextInt(4000);
+            if (op == 0) {
+                list = list.removeIndex(p);
+                expected.remove(p);
+            } else if (op == 1) {
+                list = list.replace(p, e);
+                expected.set(p, e);
+            } else if (op == 2) {
+                list = list.insert(p, e);
+                expected.add(p, e);
+            } else if (op == 3) {
+                list = list.removeLast();
+                expected.remove(expected.size() - 1);
+            } else {
+                list = list.prepend(e);
+                expected.add(0, e);
+            }
+            Integer q = random.nextInt(4500);
+            assertEquals(expected.contains(q), list.contains(q));
+            assertEquals(Integer.valueOf(expected.indexOf(q)), Integer.valueOf(list.firstIndexOf(q)));
+            assertEquals(Integer.valueOf(expected.lastIndexOf(q)), Integer.valueOf(list.lastIndexOf(q)));
+        }
+        assertEquals(expected.size(), list.size());
+        assertFalse(list.contains(null));
+        assertEquals(Integer.valueOf(-1), Integer.valueOf(list.firstIndexOf(-1)));
+    }
+
     @Test
     public void random() {
         List<Integer> list = Collection.of(IntStream.range(0, 64)).asList();
@@ -144,6 +402,40 @@ public class ListTest {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void merge() {
+        List<String> base = List.of("a", "b", "c", "d", "e");
+        assertEquals(List.of("x", "a", "c", "d", "e", "y"), base.merge(base.prepend("x").remove("b"), base.append("y")));
+        assertEquals(List.of("a", "c", "x", "d"), base.merge(base.remove("b").remove("e"), base.insert(3, "x")));
+        assertEquals(List.of("a", "b", "x", "c", "d", "e"), base.merge(base.insert(2, "x"), base.insert(2, "x")));
+        assertEquals(List.of("a", "x", "y", "c", "d", "e"), base.merge(base.replace(1, "x"), base.replace(1, "y")));
+        assertEquals(List.of("a", "x", "y"), List.of("a").merge(List.of("a", "x"), List.of("a", "x", "y")));
+        assertEquals(List.of("x", "y"), List.<String> of().merge(List.of("x"), List.of("x", "y")));
+        assertEquals(List.of("a", "p", "x", "q", "y"), List.of("a").merge(List.of("a", "p", "x", "y"), List.of("a", "x", "q", "y")));
+        assertEquals(List.of("a", "c", "e"), base.merge(new List[]{base.remove("b"), base.remove("d"), base}));
+        List<String> branch = base.append("f");
+        assertSame(branch, base.merge(branch, base));
+        assertSame(base, base.merge(base, base));
+
+        Random rnd = new Random(22);
+        List<Integer> large = List.of(IntStream.range(0, 50_000).boxed().toArray(Integer[]::new));
+        List<Integer> inserted = large;
+        List<Integer> removed = large;
+        java.util.Set<Integer> removedElements = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            inserted = inserted.insert(rnd.nextInt(inserted.size()), -i - 1);
+            int r = rnd.nextInt(removed.size());
+            removedElements.add(removed.get(r));
+            removed = removed.removeIndex(r);
+        }
+        List<Integer> merged = large.merge(inserted, removed);
+        assertEquals(inserted.size() - removedElements.size(), merged.size());
+        assertEquals(inserted.filter(e -> !removedElements.contains(e)).asList(), merged);
+        List<Integer> reversed = large.reverse().asList();
+        assertEquals(reversed.append(-1), large.merge(reversed, large.append(-1)));
+    }
+
     @Test
     public void reverse() {
         List<Integer> list1 = Collection.of(IntStream.range(0, 100000)).asList();
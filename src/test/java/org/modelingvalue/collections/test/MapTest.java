@@ -17,10 +17,19 @@ package org.modelingvalue.collections.test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Random;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.DefaultMap;
 import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Equivalence;
 import org.modelingvalue.collections.Map;
 import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.TransientMap;
+import org.modelingvalue.collections.util.ContextThread;
 import org.modelingvalue.collections.util.Pair;
 
 public class MapTest {
@@ -169,6 +178,229 @@ public class MapTest {
         assertEquals(result, expect);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void bulkTest() {
+        int max = 100_000;
+        Entry<Integer, String>[] entries = new Entry[max];
+        Map<Integer, String> incremental = Map.of();
+        for (int i = 0; i < max; i++) {
+            entries[i] = Entry.of((i * 7919) % (max / 2), "v" + i);
+            incremental = incremental.put(entries[i]);
+        }
+        Map<Integer, String> bulk = Map.of(entries);
+        assertEquals(max / 2, bulk.size());
+        assertEquals(incremental, bulk);
+        assertEquals(incremental.sequential().toList(), bulk.sequential().toList());
+        for (int i = max / 2; i < max; i++) {
+            assertEquals(entries[i].getValue(), bulk.get(entries[i].getKey()));
+        }
+    }
+
+    @Test
+    public void transientTest() {
+        Random random = new Random(4711);
+        Map<Integer, Integer> source = Map.of();
+        for (int i = 0; i < 10_000; i++) {
+            source = source.put(random.nextInt(20_000), i);
+        }
+        Map<Integer, Integer> copy = source.putAll(Map.of());
+        Map<Integer, Integer> persistent = source;
+        TransientMap<Integer, Integer> tmap = source.toTransient();
+        for (int i = 0; i < 50_000; i++) {
+            Integer key = random.nextInt(20_000);
+            if (i % 3 == 0) {
+                persistent = persistent.removeKey(key);
+                tmap.removeKey(key);
+            } else {
+                persistent = persistent.put(key, i);
+                tmap.put(key, i);
+            }
+            assertEquals(persistent.size(), tmap.size());
+            assertEquals(persistent.get(key), tmap.get(key));
+        }
+        Map<Integer, Integer> result = tmap.persistent();
+        assertEquals(persistent, result);
+        assertEquals(persistent.hashCode(), result.hashCode());
+        assertEquals(persistent.sequential().toList(), result.sequential().toList());
+        assertEquals(copy, source);
+        Integer removed = persistent.get(0).getKey();
+        tmap.put(-1, -1).removeKey(removed);
+        assertEquals(persistent, result);
+        assertEquals(persistent.put(-1, -1).removeKey(removed), tmap.persistent());
+        Map<String, String> map = Map.of(Entry.of("a", "b"));
+        assertEquals(map.put(null), map.toTransient().put(null).persistent());
+    }
+
+    @Test
+    public void collectorTest() {
+        Map<Integer, Integer> reduced = Collection.of(IntStream.range(0, 300_000)).reduce(Map.of(), (m, i) -> m.put(i % 100_000, i), Map::putAll);
+        Map<Integer, Integer> collected = Collection.of(IntStream.range(0, 300_000)).asMap(i -> Entry.of(i % 100_000, i));
+        assertEquals(100_000, collected.size());
+        assertEquals(reduced, collected);
+        assertEquals(Integer.valueOf(200_001), collected.get(Integer.valueOf(1)));
+        Map<Integer, Integer> skipped = Collection.of(IntStream.range(0, 10)).asMap(i -> i % 2 == 0 ? Entry.of(i, i) : null);
+        assertEquals(Collection.of(IntStream.range(0, 5)).reduce(Map.of(), (m, i) -> m.put(i * 2, i * 2), Map::putAll), skipped);
+    }
+
+    @SuppressWarnings("serial")
+    @Test
+    public void parallelDiffTest() {
+        int max = 200_000;
+        Map<Integer, Integer> map1 = Collection.of(IntStream.range(0, max)).asMap(i -> Entry.of(i, i));
+        Map<Integer, Integer> map2 = map1;
+        java.util.Map<Integer, Pair<Integer, Integer>> expected = new java.util.HashMap<>();
+        for (int i = 0; i < max; i += 97) {
+            if (i % 3 == 0) {
+                map2 = map2.removeKey(i);
+                expected.put(i, Pair.of(i, null));
+            } else {
+                map2 = map2.put(i, -i);
+                expected.put(i, Pair.of(i, -i));
+            }
+            map2 = map2.put(max + i, i);
+            expected.put(max + i, Pair.of(null, i));
+        }
+        Map<Integer, Integer> other = map2;
+        ContextThread.createPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                Map<Integer, Pair<Integer, Integer>> diff = map1.diff(other).asMap(e -> e);
+                assertEquals(expected.size(), diff.size());
+                expected.forEach((k, v) -> assertEquals(v, diff.get(k)));
+                assertEquals(0, map1.diff(map1.putAll(Map.of())).count());
+                Map<Integer, Integer> unshared = Collection.of(IntStream.range(0, max)).asMap(i -> Entry.of(i, i));
+                assertEquals(0, map1.diff(unshared).count());
+                assertEquals(expected.size(), unshared.diff(other).count());
+            }
+        });
+    }
+
+    @Test
+    public void unchangedPutTest() {
+        String a = "a", b = "b";
+        Map<String, String> map = Map.of(Entry.of("x", a), Entry.of("y", b));
+        assertSame(map, map.put("x", a));
+        assertSame(map, map.remove("z", a, (v1, v2) -> v1));
+        Map<String, String> changed = map.put("x", b);
+        assertNotSame(map, changed);
+        assertEquals(b, changed.get("x"));
+        TransientMap<String, String> trans = map.toTransient();
+        assertSame(map, trans.put("y", b).persistent());
+        assertEquals(b, map.remove("x", a, (v1, v2) -> b).get("x"));
+        DefaultMap<String, String> dmap = DefaultMap.of(k -> "", Entry.of("x", a));
+        assertSame(dmap, dmap.put("x", a));
+        assertSame(dmap, dmap.remove("z", a, (v1, v2) -> v1));
+        assertEquals(b, dmap.put("x", b).get("x"));
+        Map<String, Integer> boxed = Map.<String, Integer> of().put("a", 1000);
+        assertSame(boxed, boxed.put("a", Integer.valueOf(1000)));
+        assertSame(boxed, boxed.put(new String("a"), 1000));
+        assertSame(boxed, boxed.toTransient().put("a", Integer.valueOf(1000)).persistent());
+        assertSame(map, map.put("x", new String(a)));
+    }
+
+    @Test
+    public void equivalenceTest() {
+        Equivalence<String> ignoreCase = Equivalence.of(k -> k.toLowerCase().hashCode(), String::equalsIgnoreCase);
+        Map<String, Integer> map = Map.of(ignoreCase, Entry.of("One", 1), Entry.of("TWO", 2));
+        assertEquals(Integer.valueOf(1), map.get("ONE"));
+        assertEquals(Integer.valueOf(2), map.get("two"));
+        map = map.put("one", 11);
+        assertEquals(2, map.size());
+        assertEquals(Integer.valueOf(11), map.get("One"));
+        assertEquals(Map.of(ignoreCase, Entry.of("TWO", 2)), map.removeKey("oNe"));
+        assertEquals(1, map.removeAllKey(Set.of("ONE", "three")).size());
+        assertEquals(3, map.putAll(Map.of(Entry.of("THREE", 3), Entry.of("two", 22))).size());
+        assertEquals(Integer.valueOf(22), map.putAll(Map.of(Entry.of("THREE", 3), Entry.of("two", 22))).get("Two"));
+        assertEquals(Integer.valueOf(2), map.getAll(Set.of("tWo")).asList().get(0));
+        assertEquals(Map.of(ignoreCase, Entry.of("TWO", 2)), map.filter(k -> k.startsWith("T"), v -> true));
+        Map<String, Integer> base = map;
+        Map<String, Integer> merged = base.merge(base.put("ONE", 111), base.put("three", 3));
+        assertEquals(Map.of(ignoreCase, Entry.of("ONE", 111), Entry.of("TWO", 2), Entry.of("three", 3)), merged);
+        assertEquals(Integer.valueOf(11), base.diff(merged).asMap(e -> e).get("one").a());
+        TransientMap<String, Integer> trans = base.toTransient();
+        trans.put("TWO", 3);
+        trans.removeKey("ONE");
+        assertEquals(Map.of(ignoreCase, Entry.of("TWO", 3)), trans.persistent());
+        Map<String, Integer> big = Map.of(ignoreCase);
+        for (int i = 0; i < 10_000; i++) {
+            big = big.put("Key" + i, i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(Integer.valueOf(i), big.get("KEY" + i));
+        }
+    }
+
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    @Test
+    public void equivalenceEqualityTest() {
+        Equivalence<String> ignoreCase = Equivalence.of(k -> k.toLowerCase().hashCode(), String::equalsIgnoreCase);
+        Map<String, Integer> upper = Map.of(ignoreCase, Entry.of("K", 1)), lower = Map.of(ignoreCase, Entry.of("k", 1));
+        assertEquals(upper, lower);
+        assertEquals(upper.hashCode(), lower.hashCode());
+        assertEquals(0, upper.diff(lower).count());
+        assertEquals(0, upper.compare(lower).count());
+        assertEquals(Pair.of(1, 2), upper.diff(Map.of(ignoreCase, Entry.of("k", 2))).asList().get(0).getValue());
+        assertEquals(1, upper.diff(Map.of(ignoreCase, Entry.of("k", 2))).count());
+        Map<String, Integer> big1 = Map.of(ignoreCase), big2 = Map.of(ignoreCase);
+        for (int i = 0; i < 1_000; i++) {
+            big1 = big1.put("Key" + i, i);
+            big2 = big2.put("KEY" + (999 - i), 999 - i);
+        }
+        assertEquals(big1, big2);
+        assertEquals(big1.hashCode(), big2.hashCode());
+        assertEquals(0, big1.diff(big2).count());
+        assertEquals(1, big1.diff(big2.put("key7", -7)).count());
+        assertNotEquals(big1, big2.put("key7", -7));
+        assertEquals("Key7", big1.getEntry("KEY7").getKey());
+        String a1 = new String("a"), a2 = new String("a");
+        Map<String, Integer> identity1 = Map.of(Equivalence.identity(), Entry.of(a1, 1)), identity2 = Map.of(Equivalence.identity(), Entry.of(a2, 1));
+        assertNotEquals(identity1, identity2);
+        assertSame(a1, identity1.getEntry(a1).getKey());
+        assertEquals(2, identity1.diff(identity2).count());
+        assertEquals(0, identity1.diff(Map.of(Equivalence.identity(), Entry.of(a1, 1))).count());
+        assertEquals(identity1, Map.of(Equivalence.identity(), Entry.of(a1, 1)));
+    }
+
+    @Test
+    public void getAllBatchTest() {
+        Random          random     = new Random(17);
+        EqualHashCode[] collisions = IntStream.range(0, 20).mapToObj(i -> new EqualHashCode()).toArray(EqualHashCode[]::new);
+        Map<Object, Integer> map = Map.of();
+        for (int i = 0; i < 5_000; i++) {
+            map = map.put(i, i);
+        }
+        for (int i = 0; i < 10; i++) {
+            map = map.put(collisions[i], -i);
+        }
+        long[] scratch = new long[2_000];
+        for (int n : new int[]{0, 1, 7, 200, 2_000}) {
+            Object[] keys = new Object[n];
+            for (int i = 0; i < n; i++) {
+                int r = random.nextInt(6_000);
+                keys[i] = r < 5_000 ? (Object) r : collisions[r % collisions.length];
+            }
+            Integer[] out = new Integer[n];
+            int found = map.getAll(keys, out);
+            int expected = 0;
+            for (int i = 0; i < n; i++) {
+                assertEquals(map.get(keys[i]), out[i]);
+                expected += out[i] != null ? 1 : 0;
+            }
+            assertEquals(expected, found);
+            Integer[] reused = new Integer[n];
+            assertEquals(expected, map.getAll(keys, reused, scratch));
+            assertArrayEquals(out, reused);
+            assertEquals(expected, map.getAllEntries(Collection.of(keys)).size());
+            assertEquals(map.getAllEntries(Collection.of(keys)).asSet(), Collection.of(keys).map(map::getEntry).notNull().asSet());
+        }
+        Map<String, Integer> ignoreCase = Map.of(Equivalence.of(s -> s.toLowerCase().hashCode(), String::equalsIgnoreCase), Entry.of("One", 1), Entry.of("Two", 2));
+        Integer[] out = new Integer[3];
+        assertEquals(2, ignoreCase.getAll(new String[]{"TWO", "three", "one"}, out));
+        assertArrayEquals(new Integer[]{2, null, 1}, out);
+        assertThrows(IllegalArgumentException.class, () -> ignoreCase.getAll(new String[]{"TWO", "three"}, out, new long[1]));
+    }
+
     private final static class EqualHashCode {
 
         @Override
@@ -0,0 +1,129 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.List;
+import org.modelingvalue.collections.ListMultimap;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.SetMultimap;
+import org.modelingvalue.collections.TransientListMultimap;
+import org.modelingvalue.collections.TransientSetMultimap;
+
+public class MultimapTest {
+
+    @Test
+    public void setMultimapTest() {
+        SetMultimap<String, Integer> mm = SetMultimap.of();
+        mm = mm.put("a", 1).put("a", 2).put("b", 1).put("a", 1);
+        assertEquals(3, mm.size());
+        assertEquals(Set.of(1, 2), mm.get("a"));
+        assertEquals(Set.of(), mm.get("x"));
+        assertTrue(mm.contains("b", 1));
+        assertFalse(mm.contains("b", 2));
+        assertSame(mm, mm.put("a", 2));
+        assertSame(mm, mm.remove("x", 1));
+        mm = mm.putAll("c", Collection.of(3, 4, 5, 3));
+        assertEquals(6, mm.size());
+        assertEquals(Set.of("a", "b", "c"), mm.toKeys().asSet());
+        assertEquals(6, mm.entries().size());
+        assertTrue(mm.entries().anyMatch(e -> e.equals(Entry.of("c", 4))));
+        SetMultimap<String, Integer> removed = mm.remove("b", 1);
+        assertFalse(removed.containsKey("b"));
+        assertEquals(5, removed.size());
+        assertEquals(Set.of(5), mm.removeAll("c", Set.of(3, 4, 6)).get("c"));
+        assertEquals(3, mm.removeKey("c").size());
+        assertTrue(mm.clear().isEmpty());
+        SetMultimap<Integer, String> inverse = mm.inverse();
+        assertSame(inverse, mm.inverse());
+        assertEquals(Set.of("a", "b"), inverse.get(1));
+        assertEquals(6, inverse.size());
+        assertEquals(mm, inverse.inverse());
+        assertEquals(mm, SetMultimap.<String, Integer> of().putAll("c", Set.of(5, 4, 3)).put("b", 1).putAll("a", Set.of(2, 1)));
+    }
+
+    @Test
+    public void listMultimapTest() {
+        ListMultimap<String, Integer> mm = ListMultimap.of();
+        mm = mm.put("a", 1).put("a", 2).put("b", 1).put("a", 1);
+        assertEquals(4, mm.size());
+        assertEquals(List.of(1, 2, 1), mm.get("a"));
+        assertEquals(List.of(), mm.get("x"));
+        mm = mm.putAll("a", List.of(3, 4));
+        assertEquals(List.of(1, 2, 1, 3, 4), mm.get("a"));
+        assertEquals(List.of(2, 1, 3, 4), mm.remove("a", 1).get("a"));
+        assertEquals(1, mm.remove("b", 1).toKeys().size());
+        assertEquals(List.of("a", "a", "b"), mm.inverse().get(1));
+        assertEquals(6, mm.inverse().size());
+    }
+
+    @Test
+    public void transientTest() {
+        SetMultimap<Integer, Integer> base = SetMultimap.<Integer, Integer> of().put(1, 1);
+        TransientSetMultimap<Integer, Integer> ts = base.toTransient();
+        SetMultimap<Integer, Integer> expected = base;
+        for (int i = 0; i < 10_000; i++) {
+            ts.put(i % 100, i);
+            expected = expected.put(i % 100, i);
+        }
+        ts.remove(1, 1).remove(1, 1).remove(500, 500).removeKey(99);
+        expected = expected.remove(1, 1).removeKey(99);
+        assertTrue(ts.contains(2, 102));
+        assertFalse(ts.contains(99, 199));
+        assertEquals(expected.size(), ts.size());
+        SetMultimap<Integer, Integer> result = ts.persistent();
+        assertEquals(expected, result);
+        assertEquals(expected.size(), result.size());
+        assertEquals(SetMultimap.<Integer, Integer> of().put(1, 1), base);
+        ts.putAll(7, Set.of(-1, -2));
+        assertEquals(result.put(7, -1).put(7, -2), ts.persistent());
+
+        TransientListMultimap<String, Integer> tl = ListMultimap.<String, Integer> of().put("x", 0).toTransient();
+        for (int i = 1; i <= 1_000; i++) {
+            tl.put(i % 2 == 0 ? "x" : "y", i);
+        }
+        tl.remove("y", 1).putAll("z", List.of(1, 2, 2));
+        ListMultimap<String, Integer> list = tl.persistent();
+        assertEquals(1_003, list.size());
+        assertEquals(501, list.get("x").size());
+        assertEquals(Integer.valueOf(3), list.get("y").first());
+        assertEquals(List.of(1, 2, 2), list.get("z"));
+        tl.removeKey("z").remove("x", 0);
+        assertEquals(list.removeKey("z").remove("x", 0), tl.persistent());
+    }
+
+    @Test
+    public void mergeTest() {
+        SetMultimap<String, Integer> base = SetMultimap.<String, Integer> of().putAll("a", Set.of(1, 2)).put("b", 1);
+        SetMultimap<String, Integer> branch1 = base.put("a", 3).remove("b", 1);
+        SetMultimap<String, Integer> branch2 = base.remove("a", 1).put("c", 1);
+        SetMultimap<String, Integer> merged = base.merge(branch1, branch2);
+        assertEquals(SetMultimap.<String, Integer> of().putAll("a", Set.of(2, 3)).put("c", 1), merged);
+        assertEquals(3, merged.size());
+        assertFalse(merged.containsKey("b"));
+
+        ListMultimap<String, Integer> lbase = ListMultimap.<String, Integer> of().putAll("a", List.of(1, 2));
+        ListMultimap<String, Integer> lmerged = lbase.merge(lbase.put("a", 3), lbase.put("b", 4));
+        assertEquals(List.of(1, 2, 3), lmerged.get("a"));
+        assertEquals(4, lmerged.size());
+    }
+
+}
@@ -0,0 +1,169 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.IntObjectMap;
+import org.modelingvalue.collections.IntSet;
+import org.modelingvalue.collections.LongObjectMap;
+import org.modelingvalue.collections.LongSet;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.util.Pair;
+
+public class PrimitiveTest {
+
+    @Test
+    public void intSetTest() {
+        Random random = new Random(1234);
+        java.util.Set<Integer> expected = new HashSet<>();
+        IntSet set = IntSet.of();
+        for (int i = 0; i < 100_000; i++) {
+            int e = random.nextInt(50_000) - 25_000;
+            if (i % 4 == 3) {
+                expected.remove(e);
+                set = set.remove(e);
+            } else {
+                expected.add(e);
+                set = set.add(e);
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (int e = -25_000; e < 25_000; e++) {
+            assertEquals(expected.contains(e), set.contains(e));
+        }
+        int[] array = set.toArray();
+        assertEquals(expected.size(), array.length);
+        assertEquals(expected.size(), set.stream().distinct().count());
+        IntSet rebuilt = IntSet.of(array);
+        assertEquals(set, rebuilt);
+        assertEquals(set.hashCode(), rebuilt.hashCode());
+        assertEquals(expected.stream().mapToInt(Integer::intValue).sum(), set.hashCode());
+        assertArrayEquals(array, rebuilt.toArray());
+        assertSame(set, set.add(array[0]));
+        assertSame(set, set.remove(Integer.MIN_VALUE));
+        assertEquals(IntSet.of(), set.removeAll(set));
+        assertEquals("IntSet[1,2,3]".length(), IntSet.of(3, 1, 2).toString().length());
+    }
+
+    @Test
+    public void longSetCollisionTest() {
+        LongSet set = LongSet.of();
+        for (long i = 0; i < 1_000; i++) {
+            set = set.add(i << 32 | i);
+        }
+        assertEquals(1_000, set.size());
+        assertEquals(0, set.hashCode());
+        for (long i = 0; i < 1_000; i++) {
+            assertTrue(set.contains(i << 32 | i));
+            assertFalse(set.contains(i << 32 | i + 1));
+        }
+        LongSet removed = set;
+        for (long i = 0; i < 1_000; i += 2) {
+            removed = removed.remove(i << 32 | i);
+        }
+        assertEquals(500, removed.size());
+        LongSet rebuilt = LongSet.of();
+        for (long i = 999; i >= 0; i -= 2) {
+            rebuilt = rebuilt.add(i << 32 | i);
+        }
+        assertEquals(rebuilt, removed);
+        LongSet[] compare = set.compare(removed);
+        assertEquals(500, compare[0].size());
+        assertEquals(0, compare[1].size());
+        assertEquals(set, removed.addAll(compare[0]));
+    }
+
+    @Test
+    public void setAlgebraTest() {
+        LongSet a = LongSet.of(1, 2, 3, 4, 5, 1L << 40);
+        LongSet b = LongSet.of(4, 5, 6, 7, 1L << 40);
+        assertEquals(LongSet.of(1, 2, 3, 4, 5, 6, 7, 1L << 40), a.addAll(b));
+        assertEquals(LongSet.of(1, 2, 3), a.removeAll(b));
+        assertEquals(LongSet.of(4, 5, 1L << 40), a.retainAll(b));
+        LongSet[] compare = a.compare(b);
+        assertEquals(LongSet.of(1, 2, 3), compare[0]);
+        assertEquals(LongSet.of(6, 7), compare[1]);
+        assertNotEquals(a, b);
+    }
+
+    @Test
+    public void mergeTest() {
+        IntSet base = IntSet.of(1, 2, 3, 4);
+        IntSet branch1 = base.remove(1).add(10);
+        IntSet branch2 = base.remove(2).add(20);
+        assertEquals(IntSet.of(3, 4, 10, 20), base.merge(branch1, branch2));
+        IntObjectMap<String> map = IntObjectMap.<String> of().put(1, "a").put(2, "b").put(3, "c");
+        IntObjectMap<String> map1 = map.put(1, "x").removeKey(2);
+        IntObjectMap<String> map2 = map.put(3, "y").put(4, "d");
+        IntObjectMap<String> merged = map.merge(map1, map2);
+        assertEquals(3, merged.size());
+        assertEquals("x", merged.get(1));
+        assertNull(merged.get(2));
+        assertEquals("y", merged.get(3));
+        assertEquals("d", merged.get(4));
+        IntObjectMap<Set<String>> sets = IntObjectMap.<Set<String>> of().put(1, Set.of("a"));
+        IntObjectMap<Set<String>> merged2 = sets.merge(sets.put(1, Set.of("a", "b")), sets.put(1, Set.of("c")));
+        assertEquals(Set.of("b", "c"), merged2.get(1));
+    }
+
+    @Test
+    public void longObjectMapTest() {
+        Random random = new Random(4321);
+        java.util.Map<Long, String> expected = new HashMap<>();
+        LongObjectMap<String> map = LongObjectMap.of();
+        for (int i = 0; i < 100_000; i++) {
+            long k = random.nextInt(20_000) * 0x1_0000_0001L;
+            if (i % 3 == 2) {
+                expected.remove(k);
+                map = map.removeKey(k);
+            } else {
+                expected.put(k, "v" + i);
+                map = map.put(k, "v" + i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        LongObjectMap<String> finalMap = map;
+        expected.forEach((k, v) -> assertEquals(v, finalMap.get(k)));
+        java.util.Map<Long, String> visited = new HashMap<>();
+        map.forEach((v, k) -> visited.put(k, v));
+        assertEquals(expected, visited);
+        assertEquals(expected.keySet().size(), map.toKeys().size());
+        assertTrue(Arrays.stream(map.toKeys().toArray()).allMatch(expected::containsKey));
+        assertSame(map, map.put(map.toKeys().toArray()[0], map.get(map.toKeys().toArray()[0])));
+        LongObjectMap<String> changed = map.put(-1L, "new").removeKey(map.toKeys().toArray()[1]).put(map.toKeys().toArray()[2], "changed");
+        LongObjectMap<Pair<String, String>> diff = map.diff(changed);
+        assertEquals(3, diff.size());
+        assertEquals(Pair.of(null, "new"), diff.get(-1L));
+        assertEquals(map, changed.putAll(map).removeKey(-1L));
+        assertEquals(map.hashCode(), changed.putAll(map).removeKey(-1L).hashCode());
+        assertEquals(LongObjectMap.of(), map.removeAllKey(map.toKeys()));
+    }
+
+}
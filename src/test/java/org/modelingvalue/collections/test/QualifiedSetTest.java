@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.QualifiedSet;
 import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.TransientQualifiedSet;
 import org.modelingvalue.collections.util.Context;
 import org.modelingvalue.collections.util.ContextThread;
 import org.modelingvalue.collections.util.SerializableFunction;
@@ -131,6 +132,22 @@ public class QualifiedSetTest {
         });
     }
 
+    @Test
+    public void transientTest() {
+        QualifiedSet<String, O> qset = QualifiedSet.of(o -> o.k, O.of("aap"), O.of("noot"), O.of("mies"));
+        TransientQualifiedSet<String, O> tqset = qset.toTransient();
+        tqset.put(new O("kaap", "aap2")).add(new O("knoot", "noot2")).add(O.of("teun")).removeKey("kmies");
+        assertEquals(3, qset.size());
+        assertEquals("mies", qset.get("kmies").v);
+        QualifiedSet<String, O> result = tqset.persistent();
+        assertEquals(3, result.size());
+        assertEquals("aap2", result.get("kaap").v);
+        assertEquals("noot", result.get("knoot").v);
+        assertEquals("teun", result.get("kteun").v);
+        assertEquals(qset.put(result.get("kaap")).add(result.get("kteun")).removeKey("kmies"), result);
+        assertEquals(result, result.toTransient().add(null).put(null).persistent());
+    }
+
     @Test
     public void equalTest() {
         java.util.Collection<O> collection = Set.of(O.of("noot"), O.of("mies"), O.of("teun"), O.of("mies"), O.of("jet"), O.of("aap")).collect(Collectors.toSet());
@@ -22,9 +22,12 @@ import java.util.*;
 import java.util.stream.*;
 
 import org.junit.jupiter.api.*;
+import org.modelingvalue.collections.BitSet;
 import org.modelingvalue.collections.List;
 import org.modelingvalue.collections.Map;
 import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.SortedMap;
+import org.modelingvalue.collections.SortedSet;
 import org.modelingvalue.collections.*;
 
 public class SerializeTest {
@@ -40,6 +43,22 @@ public class SerializeTest {
         assertEquals(list, deserialize(serialize(list)));
     }
 
+    @Test
+    public void serializeBag() throws IOException, ClassNotFoundException {
+        Bag<String> bag = Bag.of("a", "b", "a", "Aa", "BB");
+        Bag<String> copy = deserialize(serialize(bag));
+        assertEquals(bag, copy);
+        assertEquals(2, copy.count("a"));
+    }
+
+    @Test
+    public void serializeBitSet() throws IOException, ClassNotFoundException {
+        BitSet set = BitSet.range(10, 5_000).add(1_000_000);
+        BitSet copy = deserialize(serialize(set));
+        assertEquals(set, copy);
+        assertEquals(4_991, copy.cardinality());
+    }
+
     @Test
     public void serializeLongList() throws IOException, ClassNotFoundException {
         List<Integer> list = List.of(x -> x, IntStream.range(0, 1000).boxed().toArray(Integer[]::new));
@@ -68,6 +87,50 @@ public class SerializeTest {
         assertEquals(qset, deserialize(serialize(qset)));
     }
 
+    @Test
+    public void serializeEquivalenceCollections() throws IOException, ClassNotFoundException {
+        Equivalence<String> ignoreCase = Equivalence.of(k -> k.toLowerCase().hashCode(), String::equalsIgnoreCase);
+        Set<String> set = Set.of(ignoreCase, "a", "B", "c");
+        Set<String> setCopy = deserialize(serialize(set));
+        assertEquals(set, setCopy);
+        assertTrue(setCopy.contains("b"));
+        Map<String, String> map = Map.of(ignoreCase, Entry.of("a", "0"), Entry.of("B", "1"));
+        Map<String, String> mapCopy = deserialize(serialize(map));
+        assertEquals(map, mapCopy);
+        assertEquals("1", mapCopy.get("b"));
+    }
+
+    @Test
+    public void serializeLinkedCollections() throws IOException, ClassNotFoundException {
+        LinkedSet<String> set = LinkedSet.of("c", "a", "b");
+        assertEquals(set, deserialize(serialize(set)));
+        assertEquals("c", ((LinkedSet<String>) deserialize(serialize(set))).add("a").first());
+        LinkedMap<String, String> map = LinkedMap.of(Entry.of("b", "0"), Entry.of("a", "1"));
+        assertEquals(map, deserialize(serialize(map)));
+        SortedSet<String> byLength = SortedSet.of((Comparator<String> & Serializable) (a, b) -> a.length() - b.length(), "aaa", "b", "cc");
+        assertEquals(byLength, deserialize(serialize(byLength)));
+    }
+
+    @Test
+    public void serializeSortedCollections() throws IOException, ClassNotFoundException {
+        SortedSet<Integer> set = SortedSet.of(Comparator.reverseOrder(), 5, 1, 3);
+        SortedSet<Integer> setCopy = deserialize(serialize(set));
+        assertEquals(set, setCopy);
+        assertEquals(Integer.valueOf(5), setCopy.add(4).first());
+        SortedMap<String, String> map = SortedMap.of(Entry.of("b", "0"), Entry.of("a", "1"));
+        assertEquals(map, deserialize(serialize(map)));
+    }
+
+    @Test
+    public void serializeMultimaps() throws IOException, ClassNotFoundException {
+        SetMultimap<String, Integer> set = SetMultimap.<String, Integer> of().putAll("a", Set.of(1, 2)).put("b", 3);
+        SetMultimap<String, Integer> setCopy = deserialize(serialize(set));
+        assertEquals(set, setCopy);
+        assertEquals(3, setCopy.size());
+        ListMultimap<String, Integer> list = ListMultimap.<String, Integer> of().putAll("a", List.of(1, 1, 2));
+        assertEquals(list, deserialize(serialize(list)));
+    }
+
     @Test
     public void serializeMap() throws IOException, ClassNotFoundException {
         Map<String, String> map = Map.of(
@@ -16,6 +16,7 @@
 package org.modelingvalue.collections.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -31,7 +32,13 @@ import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.Test;
 import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Equivalence;
+import org.modelingvalue.collections.List;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.QualifiedSet;
 import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.TransientSet;
 import org.modelingvalue.collections.impl.HashCollectionImpl;
 import org.modelingvalue.collections.util.Context;
 import org.modelingvalue.collections.util.ContextThread;
@@ -282,6 +289,231 @@ public class SetTest {
         assertTrue(IntStream.range(-max, max).map(i -> i * step + half).allMatch(set3::contains));
     }
 
+    @Test
+    public void bulkTest() {
+        int max = 200_000;
+        Random random = new Random(SEED);
+        Object[] elements = new Object[max];
+        for (int i = 0; i < max; i++) {
+            int r = random.nextInt(max);
+            elements[i] = i % 3 == 0 ? new HashSharingInteger(r, r - r % 7) : Integer.valueOf(r);
+        }
+        Set<Object> incremental = Set.of();
+        for (Object e : elements) {
+            incremental = incremental.add(e);
+        }
+        Set<Object> bulk = Set.of(elements);
+        assertEquals(incremental.size(), bulk.size());
+        assertEquals(incremental.hashCode(), bulk.hashCode());
+        assertEquals(incremental, bulk);
+        assertEquals(incremental.sequential().toList(), bulk.sequential().toList());
+        assertEquals(incremental, Set.of(Arrays.asList(elements)));
+        assertNull(((HashCollectionImpl<?>) bulk).checkHashIntegrity());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void bulkNullTest() {
+        assertEquals(Set.of("x"), Set.of(Arrays.asList("x", null)));
+        assertEquals(Set.of("x", "y"), Set.of("x", null, "y"));
+        assertEquals(Set.of("x", "y"), Set.of("x").addAll(Set.of(Arrays.asList(null, "y", null))));
+        Entry<String, Integer> e1 = Entry.of("a", 1), e2 = Entry.of("b", 2);
+        assertEquals(Map.of(e1).put(e2), Map.of(e1, null, e2));
+        QualifiedSet<String, String> qset = QualifiedSet.of(s -> s, "a", null);
+        assertEquals(1, qset.size());
+        assertEquals("a", qset.get("a"));
+    }
+
+    @SuppressWarnings("serial")
+    @Test
+    public void parallelBulkTest() {
+        int max = 500_000;
+        Random random = new Random(SEED);
+        Object[] elements = new Object[max];
+        Object[] narrow = new Object[max];
+        for (int i = 0; i < max; i++) {
+            int r = random.nextInt();
+            elements[i] = i % 3 == 0 ? new HashSharingInteger(r % max, r - r % 7) : Integer.valueOf(r % max);
+            narrow[i] = new HashSharingInteger(r, r & 0x00FFFFFF);
+        }
+        Set<Object> incremental = Set.of();
+        Set<Object> narrowIncremental = Set.of();
+        for (int i = 0; i < max; i++) {
+            incremental = incremental.add(elements[i]);
+            narrowIncremental = narrowIncremental.add(narrow[i]);
+        }
+        Set<Object> expected = incremental, narrowExpected = narrowIncremental;
+        ContextThread.createPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                Set<Object> bulk = Set.of(elements);
+                assertEquals(expected, bulk);
+                assertEquals(expected.sequential().toList(), bulk.sequential().toList());
+                assertNull(((HashCollectionImpl<?>) bulk).checkHashIntegrity());
+                Set<Object> narrowBulk = Set.of(narrow);
+                assertEquals(narrowExpected, narrowBulk);
+                assertEquals(narrowExpected.sequential().toList(), narrowBulk.sequential().toList());
+                assertNull(((HashCollectionImpl<?>) narrowBulk).checkHashIntegrity());
+            }
+        });
+    }
+
+    @Test
+    public void transientTest() {
+        Set<HashSharingInteger> set = Set.of();
+        TransientSet<HashSharingInteger> tset = set.toTransient();
+        for (int i = 0; i < 20_000; i++) {
+            HashSharingInteger e = new HashSharingInteger(i % 5_000, i % 500);
+            if (i % 4 == 3) {
+                set = set.remove(e);
+                tset.remove(e);
+            } else {
+                set = set.add(e);
+                tset.add(e);
+            }
+            assertEquals(set.contains(e), tset.contains(e));
+        }
+        assertEquals(set.size(), tset.size());
+        Set<HashSharingInteger> result = tset.persistent();
+        assertEquals(set, result);
+        assertEquals(set.sequential().toList(), result.sequential().toList());
+        assertNull(((HashCollectionImpl<?>) result).checkHashIntegrity());
+        assertEquals(set.add(null), tset.add(null).remove(null).persistent());
+        assertEquals(Set.of("a"), Set.of("a").toTransient().add(null).persistent());
+    }
+
+    @Test
+    public void collectorTest() {
+        Set<HashSharingInteger> reduced = Collection.of(IntStream.range(0, 300_000)).map(i -> new HashSharingInteger(i % 100_000, i % 10_000)).reduce(Set.of(), Set::add, Set::addAll);
+        Set<HashSharingInteger> collected = Collection.of(IntStream.range(0, 300_000)).map(i -> new HashSharingInteger(i % 100_000, i % 10_000)).asSet();
+        assertEquals(100_000, collected.size());
+        assertEquals(reduced, collected);
+        assertEquals(reduced.sequential().toList(), collected.sequential().toList());
+        assertNull(((HashCollectionImpl<?>) collected).checkHashIntegrity());
+        assertEquals(Set.of(), Collection.of(IntStream.range(0, 0)).asSet());
+        assertEquals(Set.of("a", "b"), Collection.of(Arrays.asList("a", null, "b")).asSet());
+    }
+
+    @Test
+    public void sortedEqualHashesTest() {
+        Random random = new Random(42);
+        java.util.Set<ComparableHashSharingInteger> expected = new HashSet<>();
+        Set<ComparableHashSharingInteger> set = Set.of();
+        TransientSet<ComparableHashSharingInteger> trans = Set.<ComparableHashSharingInteger> of().toTransient();
+        for (int i = 0; i < 20_000; i++) {
+            ComparableHashSharingInteger obj = new ComparableHashSharingInteger(random.nextInt(2_000));
+            if (i % 3 == 2) {
+                expected.remove(obj);
+                set = set.remove(obj);
+                trans.remove(obj);
+            } else {
+                expected.add(obj);
+                set = set.add(obj);
+                trans.add(obj);
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        for (int i = 0; i < 2_000; i++) {
+            assertEquals(expected.contains(new ComparableHashSharingInteger(i)), set.contains(new ComparableHashSharingInteger(i)));
+        }
+        Set<ComparableHashSharingInteger> bulk = Collection.of(expected.stream()).asSet();
+        assertEquals(bulk, set);
+        assertEquals(bulk.hashCode(), set.hashCode());
+        assertEquals(set, trans.persistent());
+        Set<ComparableHashSharingInteger> evens = set.filter(o -> o.integer % 2 == 0).asSet();
+        assertEquals(set, set.removeAll(evens).addAll(evens));
+        assertEquals(evens, set.retainAll(evens));
+        HashSharingInteger stranger = new HashSharingInteger(-1, 7);
+        Set<Object> mixed = Set.<Object> of().addAll(set).add(stranger);
+        assertEquals(set.size() + 1, mixed.size());
+        assertTrue(mixed.contains(stranger));
+        assertTrue(mixed.containsAll(set));
+        assertEquals(Set.<Object> of().addAll(set), mixed.remove(stranger));
+        Set<ComparableHashSharingInteger> branch1 = set.removeAll(evens);
+        Set<ComparableHashSharingInteger> branch2 = set.add(new ComparableHashSharingInteger(5_000));
+        assertEquals(branch1.add(new ComparableHashSharingInteger(5_000)), set.merge(branch1, branch2));
+    }
+
+    @Test
+    public void tiedEqualHashesTest() {
+        List<TiedHashSharingInteger> added = List.of();
+        Set<TiedHashSharingInteger> set = Set.of();
+        for (int i = 19; i >= 0; i--) {
+            TiedHashSharingInteger obj = new TiedHashSharingInteger(i);
+            added = added.append(obj);
+            set = set.add(obj);
+        }
+        assertEquals(added, set.asList());
+        for (int i = 0; i < 20; i++) {
+            assertTrue(set.contains(new TiedHashSharingInteger(i)));
+        }
+        assertEquals(added, Set.of(added.toArray(TiedHashSharingInteger[]::new)).asList());
+    }
+
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    @Test
+    public void identityEquivalenceTest() {
+        String a1 = new String("a"), a2 = new String("a"), b = new String("b");
+        Set<String> set = Set.of(Equivalence.identity(), a1, b);
+        assertEquals(2, set.size());
+        assertTrue(set.contains(a1));
+        assertFalse(set.contains(a2));
+        set = set.add(a2);
+        assertEquals(3, set.size());
+        assertTrue(set.contains(a2));
+        assertEquals(Set.of(Equivalence.identity(), b, a2, a1), set);
+        assertNotEquals(Set.of(a1, b), Set.of(Equivalence.identity(), a1, b));
+        assertEquals(2, set.remove(a1).size());
+        assertTrue(set.remove(a1).contains(a2));
+        assertEquals(Set.of(Equivalence.identity(), a2), set.removeAll(Set.of(a1, b)));
+        assertEquals(Set.of(Equivalence.identity(), a1, a2, b), Set.<String> of(Equivalence.identity()).addAll(Set.of(a1, b)).add(a2));
+        Set<String> identities = Set.of(Equivalence.identity());
+        for (int i = 0; i < 10_000; i++) {
+            identities = identities.add(new String("x"));
+        }
+        assertEquals(10_000, identities.size());
+        assertEquals(1, Set.of(Equivalence.identity()).addAll(identities).asList().asSet().size());
+        Set<String> base = Set.of(Equivalence.identity(), a1);
+        Set<String> merged = base.merge(base.add(a2), base.add(b).remove(a1));
+        assertEquals(Set.of(Equivalence.identity(), a2, b), merged);
+        TransientSet<String> trans = base.toTransient();
+        trans.add(a2);
+        trans.add(a2);
+        trans.remove(a1);
+        assertEquals(Set.of(Equivalence.identity(), a2), trans.persistent());
+    }
+
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    @Test
+    public void equivalenceEqualityTest() {
+        String a1 = new String("a"), a2 = new String("a");
+        Set<String> s1 = Set.of(Equivalence.identity(), a1), s2 = Set.of(Equivalence.identity(), a2);
+        assertNotEquals(s1, s2);
+        assertTrue(s1.contains(a1));
+        assertFalse(s1.contains(a2));
+        assertEquals(2, s1.compare(s2).count());
+        String[] xs1 = new String[1_000], xs2 = new String[1_000];
+        for (int i = 0; i < xs1.length; i++) {
+            xs1[i] = new String("x");
+            xs2[xs1.length - 1 - i] = xs1[i];
+        }
+        Set<String> identities1 = Set.of(Equivalence.identity(), xs1), identities2 = Set.of(Equivalence.identity(), xs2);
+        assertEquals(identities1, identities2);
+        assertEquals(identities1.hashCode(), identities2.hashCode());
+        assertEquals(0, identities1.compare(identities2).count());
+        Set<String> other = identities2.remove(xs1[7]).add(new String("x"));
+        assertNotEquals(identities1, other);
+        assertEquals(2, identities1.compare(other).flatMap(a -> a[0] != null ? a[0] : a[1]).count());
+        assertTrue(identities1.contains(xs1[7]));
+        Equivalence<String> ignoreCase = Equivalence.of(k -> k.toLowerCase().hashCode(), String::equalsIgnoreCase);
+        Set<String> upper = Set.of(ignoreCase, "A", "b"), lower = Set.of(ignoreCase, "a", "B");
+        assertEquals(upper, lower);
+        assertEquals(upper.hashCode(), lower.hashCode());
+        assertEquals(0, upper.compare(lower).count());
+        assertEquals(Set.of("A", "b"), upper.asList().asSet());
+        assertNotEquals(upper, Set.of(ignoreCase, "a", "c"));
+    }
+
     @SuppressWarnings("rawtypes")
     @Test
     public void checkHashIntegrity() {
@@ -315,4 +547,60 @@ public class SetTest {
         }
     }
 
+    private static final class ComparableHashSharingInteger implements Comparable<ComparableHashSharingInteger> {
+        private final int integer;
+
+        private ComparableHashSharingInteger(int integer) {
+            this.integer = integer;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ComparableHashSharingInteger && ((ComparableHashSharingInteger) other).integer == integer;
+        }
+
+        @Override
+        public int compareTo(ComparableHashSharingInteger other) {
+            return Integer.compare(integer, other.integer);
+        }
+
+        @Override
+        public String toString() {
+            return Integer.toString(integer);
+        }
+    }
+
+    private static final class TiedHashSharingInteger implements Comparable<TiedHashSharingInteger> {
+        private final int integer;
+
+        private TiedHashSharingInteger(int integer) {
+            this.integer = integer;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TiedHashSharingInteger && ((TiedHashSharingInteger) other).integer == integer;
+        }
+
+        @Override
+        public int compareTo(TiedHashSharingInteger other) {
+            return Integer.compare(integer / 2, other.integer / 2);
+        }
+
+        @Override
+        public String toString() {
+            return Integer.toString(integer);
+        }
+    }
+
 }
@@ -0,0 +1,103 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.SortedMap;
+
+public class SortedMapTest {
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(5);
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        SortedMap<Integer, Integer> map = SortedMap.of();
+        for (int i = 0; i < 20_000; i++) {
+            Integer k = random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                expected.remove(k);
+                map = map.removeKey(k);
+            } else {
+                expected.put(k, i);
+                map = map.put(k, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.keySet()), map.toKeys().toList());
+        assertEquals(new ArrayList<>(expected.values()), map.toValues().toList());
+        for (Integer k = -1; k <= 5_000; k += 3) {
+            assertEquals(expected.get(k), map.get(k));
+            assertEquals(entry(expected.floorEntry(k)), map.floorEntry(k));
+            assertEquals(entry(expected.ceilingEntry(k)), map.ceilingEntry(k));
+            assertEquals(entry(expected.lowerEntry(k)), map.lowerEntry(k));
+            assertEquals(entry(expected.higherEntry(k)), map.higherEntry(k));
+            assertEquals(new ArrayList<>(expected.headMap(k).keySet()), map.headMap(k).toKeys().toList());
+            assertEquals(new ArrayList<>(expected.tailMap(k).keySet()), map.tailMap(k).toKeys().toList());
+            assertEquals(new ArrayList<>(expected.subMap(k, k + 100).values()), map.subMap(k, k + 100).toValues().toList());
+        }
+        assertEquals(expected.subMap(1_000, 2_000).size(), map.countBetween(1_000, 2_000));
+        assertEquals(new ArrayList<>(expected.subMap(1_000, 2_000).keySet()), map.range(1_000, 2_000).map(Entry::getKey).toList());
+        assertEquals(expected.headMap(2_500).size(), map.rank(2_500));
+        assertEquals(entry(expected.ceilingEntry(2_500)), map.select(map.rank(2_500)));
+        assertEquals(entry(expected.firstEntry()), map.firstEntry());
+        assertEquals(entry(expected.lastEntry()), map.lastEntry());
+        assertSame(map, map.put(map.firstEntry()));
+    }
+
+    @Test
+    public void updateTest() {
+        SortedMap<String, Integer> map = SortedMap.of(Comparator.reverseOrder(), Entry.of("a", 1), Entry.of("c", 3), Entry.of("b", 2), Entry.of("a", 4));
+        assertEquals(java.util.List.of("c", "b", "a"), map.toKeys().toList());
+        assertEquals(Integer.valueOf(4), map.get("a"));
+        assertTrue(map.contains(Entry.of("b", 2)));
+        assertFalse(map.contains(Entry.of("b", 3)));
+        assertEquals(java.util.List.of("c"), map.removeAllKey(Set.of("a", "b")).toKeys().toList());
+        assertEquals(map, map.remove(Entry.of("b", 3)));
+        assertEquals(2, map.remove(Entry.of("b", 2)).size());
+    }
+
+    @Test
+    public void mergeTest() {
+        SortedMap<String, Integer> base = SortedMap.of(Entry.of("a", 1), Entry.of("b", 2), Entry.of("c", 3));
+        SortedMap<String, Integer> branch1 = base.removeKey("a").put("d", 4).put("c", 33);
+        SortedMap<String, Integer> branch2 = base.put("e", 5).put("b", 22);
+        SortedMap<String, Integer> merged = base.merge(branch1, branch2);
+        assertEquals(SortedMap.of(Entry.of("b", 22), Entry.of("c", 33), Entry.of("d", 4), Entry.of("e", 5)), merged);
+        java.util.List<SortedMap<String, Integer>[]> parts = base.compare(branch2).collect(Collectors.toList());
+        assertEquals(2, parts.size());
+        assertEquals(SortedMap.of(Entry.of("b", 2)), parts.get(0)[0]);
+        assertEquals(SortedMap.of(Entry.of("b", 22)), parts.get(0)[1]);
+        assertNull(parts.get(1)[0]);
+        assertEquals(SortedMap.of(Entry.of("e", 5)), parts.get(1)[1]);
+        assertEquals(SortedMap.of(Entry.of("a", Set.of(1, 2, 3))), SortedMap.of(Entry.of("a", Set.of(1))).merge(SortedMap.of(Entry.of("a", Set.of(1, 2))), SortedMap.of(Entry.of("a", Set.of(1, 3)))));
+    }
+
+    private static <K, V> Entry<K, V> entry(java.util.Map.Entry<K, V> e) {
+        return e == null ? null : Entry.of(e.getKey(), e.getValue());
+    }
+
+}
@@ -0,0 +1,172 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+
+package org.modelingvalue.collections.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.SortedSet;
+import org.modelingvalue.collections.util.ContextThread;
+
+public class SortedSetTest {
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(11);
+        TreeSet<Integer> expected = new TreeSet<>();
+        SortedSet<Integer> set = SortedSet.of();
+        for (int i = 0; i < 20_000; i++) {
+            Integer e = random.nextInt(10_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(e);
+                set = set.remove(e);
+            } else {
+                expected.add(e);
+                set = set.add(e);
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        assertEquals(new ArrayList<>(expected), set.toList());
+        assertEquals(new ArrayList<>(expected.descendingSet()), set.reverse().toList());
+        assertEquals(expected.first(), set.first());
+        assertEquals(expected.last(), set.last());
+        for (int i = -1; i <= 10_000; i += 7) {
+            assertEquals(expected.contains(i), set.contains(i));
+            assertEquals(expected.floor(i), set.floor(i));
+            assertEquals(expected.ceiling(i), set.ceiling(i));
+            assertEquals(expected.lower(i), set.lower(i));
+            assertEquals(expected.higher(i), set.higher(i));
+            assertEquals(new ArrayList<>(expected.headSet(i)), set.headSet(i).toList());
+            assertEquals(new ArrayList<>(expected.tailSet(i)), set.tailSet(i).toList());
+            assertEquals(new ArrayList<>(expected.subSet(i, i + 500)), set.subSet(i, i + 500).toList());
+        }
+        assertEquals(0, set.subSet(500, 100).size());
+        assertEquals(set, SortedSet.of(expected.toArray(Integer[]::new)));
+        assertEquals(set, SortedSet.<Integer> of().addAll(Collection.of(expected.descendingSet())));
+    }
+
+    @Test
+    public void comparatorTest() {
+        SortedSet<String> set = SortedSet.of(String.CASE_INSENSITIVE_ORDER, "b", "C", "a", "B");
+        assertEquals(java.util.List.of("a", "b", "C"), set.toList());
+        assertTrue(set.contains("c"));
+        assertEquals("C", set.ceiling("bb"));
+        assertEquals(SortedSet.of(Comparator.reverseOrder(), 1, 2, 3).toList(), java.util.List.of(3, 2, 1));
+        assertNotEquals(SortedSet.of(1, 2, 3), SortedSet.of(Comparator.reverseOrder(), 1, 2, 3));
+        SortedSet<String> byLength1 = SortedSet.of(Comparator.comparing(String::length), "aaa", "b", "cc");
+        SortedSet<String> byLength2 = SortedSet.of(Comparator.comparing(String::length), "cc", "aaa", "b");
+        assertEquals(byLength1, byLength2);
+        assertEquals(byLength1.hashCode(), byLength2.hashCode());
+        assertEquals(Set.of(1, 2), SortedSet.of(3, 1, 2).retainAll(Set.of(1, 2, 4)).asSet());
+    }
+
+    @Test
+    public void parallelOrderTest() {
+        SortedSet<Integer> set = SortedSet.of();
+        for (int i = 0; i < 100_000; i++) {
+            set = set.add((i * 7919) % 100_000);
+        }
+        SortedSet<Integer> all = set;
+        ContextThread.createPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                java.util.List<Integer> list = all.parallel().collect(Collectors.toList());
+                for (int i = 0; i < list.size(); i++) {
+                    assertEquals(Integer.valueOf(i), list.get(i));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void rankSelectTest() {
+        Random random = new Random(23);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            expected.add(random.nextInt(1_000_000));
+        }
+        SortedSet<Integer> set = SortedSet.of(expected.toArray(Integer[]::new));
+        java.util.List<Integer> list = new ArrayList<>(expected);
+        for (int i = 0; i < list.size(); i += 101) {
+            assertEquals(list.get(i), set.select(i));
+            assertEquals(i, set.rank(list.get(i)));
+            assertEquals(i + 1, set.rank(list.get(i) + 1));
+        }
+        assertEquals(0, set.rank(-1));
+        assertEquals(set.size(), set.rank(Integer.MAX_VALUE));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.select(set.size()));
+        for (int lo = 0; lo < 1_000_000; lo += 99_991) {
+            int hi = lo + 12_345;
+            assertEquals(expected.subSet(lo, hi).size(), set.countBetween(lo, hi));
+            assertEquals(new ArrayList<>(expected.subSet(lo, hi)), set.range(lo, hi).toList());
+        }
+        assertEquals(0, set.countBetween(10, 5));
+        long sum = expected.subSet(100_000, 900_000).stream().mapToLong(i -> i).sum();
+        ContextThread.createPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                assertEquals(sum, set.range(100_000, 900_000).parallel().mapToLong(i -> i).sum());
+            }
+        });
+    }
+
+    @Test
+    public void mergeTest() {
+        SortedSet<Integer> base = SortedSet.of(1, 3, 5, 7);
+        SortedSet<Integer> branch1 = base.remove(3).add(4);
+        SortedSet<Integer> branch2 = base.add(8).add(0).remove(7);
+        assertEquals(SortedSet.of(0, 1, 4, 5, 8), base.merge(branch1, branch2));
+        assertEquals(branch1, base.merge(branch1, base));
+        SortedSet<Integer> large = SortedSet.of(Collection.of(IntStream.range(0, 50_000).map(i -> i * 2).boxed()).toArray(Integer[]::new));
+        SortedSet<Integer> large1 = large.remove(10).add(11).remove(99_998);
+        SortedSet<Integer> large2 = large.add(-1).remove(50_000).add(50_001);
+        SortedSet<Integer> expected = large1.remove(50_000).add(-1).add(50_001);
+        assertEquals(expected, large.merge(large1, large2));
+    }
+
+    @Test
+    public void compareTest() {
+        SortedSet<Integer> base = SortedSet.of(Collection.of(IntStream.range(0, 100_000).map(i -> i * 2).boxed()).toArray(Integer[]::new));
+        SortedSet<Integer> branch = base.remove(4).remove(80_000).remove(199_998).add(5).add(-3).add(300_001);
+        java.util.List<SortedSet<Integer>[]> parts = base.compare(branch).collect(Collectors.toList());
+        assertEquals(java.util.List.of(4, 80_000, 199_998), parts.stream().filter(p -> p[0] != null).flatMap(p -> p[0].toList().stream()).collect(Collectors.toList()));
+        assertEquals(java.util.List.of(-3, 5, 300_001), parts.stream().filter(p -> p[1] != null).flatMap(p -> p[1].toList().stream()).collect(Collectors.toList()));
+        assertEquals(0, base.compare(base).count());
+        SortedSet<Integer> rebuilt = SortedSet.of(base.toArray(Integer[]::new));
+        assertEquals(0, base.compare(rebuilt).count());
+        parts = base.compare(SortedSet.of()).collect(Collectors.toList());
+        assertEquals(1, parts.size());
+        assertEquals(base, parts.get(0)[0]);
+        assertNull(parts.get(0)[1]);
+        SortedSet<String> byLength = SortedSet.of(Comparator.comparing(String::length), "a", "bb");
+        java.util.List<SortedSet<String>[]> pairs = byLength.compare(SortedSet.of(Comparator.comparing(String::length), "a", "cc")).collect(Collectors.toList());
+        assertEquals(1, pairs.size());
+        assertEquals(java.util.List.of("bb"), pairs.get(0)[0].toList());
+        assertEquals(java.util.List.of("cc"), pairs.get(0)[1].toList());
+    }
+
+}